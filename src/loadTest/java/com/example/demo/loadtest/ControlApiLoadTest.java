@@ -0,0 +1,244 @@
+package com.example.demo.loadtest;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Several operators and dashboards hitting the control API at once: status polls,
+ * reports and admin reads mixed with scrapes, apply runs and resets, all against
+ * {@link FakeInstahyreBackend}. Reports latency percentiles per endpoint, error
+ * rate, and peak thread count and heap, and fails when a threshold is exceeded.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"instahyre.use-manual-cookies=true",
+		"instahyre.sessionid=load-test-session",
+		"instahyre.csrftoken=load-test-csrf",
+		"instahyre.session.browser-login=false",
+		"instahyre.pacing.page-delay-ms=0",
+		"instahyre.pacing.apply-delay-ms=0",
+		"instahyre.paging.max-jobs=150",
+		"instahyre.checkpoint.enabled=false",
+		"instahyre.targeting.file=",
+		"spring.datasource.url=jdbc:h2:mem:load-test;DB_CLOSE_DELAY=-1",
+		"spring.security.user.name=load",
+		"spring.security.user.password=load",
+		"logging.level.com.example.demo=WARN"
+})
+class ControlApiLoadTest {
+
+	private static final int CLIENTS = Integer.getInteger("loadTestClients", 32);
+	private static final int SECONDS = Integer.getInteger("loadTestSeconds", 30);
+	private static final long BACKEND_LATENCY_MS = Long.getLong("loadTestBackendLatencyMs", 20);
+	private static final long MAX_P95_MS = Long.getLong("loadTestMaxP95Ms", 2000);
+	private static final long MAX_P99_MS = Long.getLong("loadTestMaxP99Ms", 5000);
+	private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadTestMaxErrorRate", "0.01"));
+	private static final int MAX_THREADS = Integer.getInteger("loadTestMaxThreads", 400);
+	private static final long MAX_HEAP_MB = Long.getLong("loadTestMaxHeapMb", 768);
+
+	private static final FakeInstahyreBackend backend = startBackend();
+
+	/**
+	 * Endpoints and their share of the traffic, in percent.
+	 */
+	private enum Call {
+		STATUS("GET", "/api/jobs/status", 35),
+		SCRAPE("GET", "/api/jobs", 8),
+		APPLY("POST", "/api/jobs/apply", 5),
+		RESET("POST", "/api/jobs/reset", 5),
+		OUTCOMES("GET", "/api/reports/outcomes?dimension=company", 15),
+		TIMELINE("GET", "/api/reports/timeline?granularity=hour", 10),
+		TARGETING("GET", "/api/admin/targeting", 12),
+		EXTRACTION("GET", "/api/admin/extraction", 10);
+
+		final String method;
+		final String path;
+		final int weight;
+
+		Call(String method, String path, int weight) {
+			this.method = method;
+			this.path = path;
+			this.weight = weight;
+		}
+	}
+
+	@Value("${local.server.port}")
+	private int port;
+
+	@DynamicPropertySource
+	static void backendProperties(DynamicPropertyRegistry registry) {
+		registry.add("instahyre.base-url", backend::baseUrl);
+	}
+
+	@AfterAll
+	static void stopBackend() {
+		backend.close();
+	}
+
+	@Test
+	void mixedConcurrentTrafficStaysWithinThresholds() throws Exception {
+		Map<Call, Queue<Long>> latencies = new EnumMap<>(Call.class);
+		Map<Call, AtomicInteger> errors = new EnumMap<>(Call.class);
+		for (Call call : Call.values()) {
+			latencies.put(call, new ConcurrentLinkedQueue<>());
+			errors.put(call, new AtomicInteger());
+		}
+
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		threads.resetPeakThreadCount();
+		AtomicLong peakHeap = new AtomicLong();
+		ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+		sampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+				0, 100, TimeUnit.MILLISECONDS);
+
+		HttpClient http = HttpClient.newBuilder()
+				.executor(Executors.newVirtualThreadPerTaskExecutor())
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+		String auth = "Basic " + Base64.getEncoder().encodeToString("load:load".getBytes(StandardCharsets.UTF_8));
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDS);
+		long started = System.nanoTime();
+
+		try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < CLIENTS; i++) {
+				clients.submit(() -> {
+					while (System.nanoTime() < deadline) {
+						Call call = pick(ThreadLocalRandom.current().nextInt(100));
+						HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + call.path))
+								.method(call.method, HttpRequest.BodyPublishers.noBody())
+								.header("Authorization", auth)
+								.timeout(Duration.ofSeconds(60))
+								.build();
+						long begin = System.nanoTime();
+						try {
+							HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+							if (response.statusCode() >= 300) {
+								errors.get(call).incrementAndGet();
+							}
+						} catch (IOException e) {
+							errors.get(call).incrementAndGet();
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+							return;
+						}
+						latencies.get(call).add(System.nanoTime() - begin);
+					}
+				});
+			}
+		}
+		double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+		sampler.shutdownNow();
+
+		int peakThreads = threads.getPeakThreadCount();
+		long peakHeapMb = peakHeap.get() / (1024 * 1024);
+		List<Long> all = new ArrayList<>();
+		latencies.values().forEach(all::addAll);
+		long totalErrors = errors.values().stream().mapToInt(AtomicInteger::get).sum();
+		double errorRate = all.isEmpty() ? 1.0 : (double) totalErrors / all.size();
+
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("clients=%d duration=%.1fs requests=%d throughput=%.1f/s backend-requests=%d%n",
+				CLIENTS, elapsedSeconds, all.size(), all.size() / elapsedSeconds, backend.requestCount()));
+		report.append(String.format("%-11s %7s %7s %8s %8s %8s %8s%n", "endpoint", "count", "errors", "p50ms", "p95ms", "p99ms", "maxms"));
+		for (Call call : Call.values()) {
+			report.append(row(call.name().toLowerCase(), new ArrayList<>(latencies.get(call)), errors.get(call).get()));
+		}
+		report.append(row("all", all, totalErrors));
+		report.append(String.format("error-rate=%.4f peak-threads=%d peak-heap=%dMB%n", errorRate, peakThreads, peakHeapMb));
+		System.out.print(report);
+		writeReport(report.toString());
+
+		long p95 = percentile(all, 0.95);
+		long p99 = percentile(all, 0.99);
+		SoftAssertions softly = new SoftAssertions();
+		softly.assertThat(all).as("requests completed").isNotEmpty();
+		softly.assertThat(p95).as("p95 latency (ms)").isLessThanOrEqualTo(MAX_P95_MS);
+		softly.assertThat(p99).as("p99 latency (ms)").isLessThanOrEqualTo(MAX_P99_MS);
+		softly.assertThat(errorRate).as("error rate").isLessThanOrEqualTo(MAX_ERROR_RATE);
+		softly.assertThat(peakThreads).as("peak live threads").isLessThanOrEqualTo(MAX_THREADS);
+		softly.assertThat(peakHeapMb).as("peak heap (MB)").isLessThanOrEqualTo(MAX_HEAP_MB);
+		softly.assertAll();
+	}
+
+	private static Call pick(int roll) {
+		for (Call call : Call.values()) {
+			roll -= call.weight;
+			if (roll < 0) return call;
+		}
+		return Call.STATUS;
+	}
+
+	private static String row(String name, List<Long> nanos, long errors) {
+		return String.format("%-11s %7d %7d %8d %8d %8d %8d%n", name, nanos.size(), errors,
+				percentile(nanos, 0.50), percentile(nanos, 0.95), percentile(nanos, 0.99), percentile(nanos, 1.0));
+	}
+
+	// Nearest-rank percentile, in milliseconds
+	private static long percentile(List<Long> nanos, double p) {
+		if (nanos.isEmpty()) return 0;
+		List<Long> sorted = new ArrayList<>(nanos);
+		Collections.sort(sorted);
+		int rank = (int) Math.ceil(p * sorted.size());
+		return TimeUnit.NANOSECONDS.toMillis(sorted.get(Math.max(0, rank - 1)));
+	}
+
+	private static void writeReport(String report) throws IOException {
+		Path dir = Path.of(System.getProperty("loadTestReportDir", "build/reports/load-test"));
+		Files.createDirectories(dir);
+		Files.writeString(dir.resolve("summary.txt"), report);
+	}
+
+	private static FakeInstahyreBackend startBackend() {
+		try {
+			return FakeInstahyreBackend.start(400, BACKEND_LATENCY_MS);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * TEST ONLY, not the application's security: replaces Spring Boot's default chain
+	 * with HTTP Basic and no CSRF tokens, so the load clients can POST without first
+	 * getting a token. The application keeps the default chain, CSRF included.
+	 */
+	@TestConfiguration
+	static class LoadTestOnlySecurity {
+
+		@Bean
+		SecurityFilterChain loadTestOnlySecurity(HttpSecurity http) throws Exception {
+			return http
+					.authorizeHttpRequests(requests -> requests.anyRequest().authenticated())
+					.httpBasic(Customizer.withDefaults())
+					.csrf(csrf -> csrf.disable())
+					.build();
+		}
+	}
+}
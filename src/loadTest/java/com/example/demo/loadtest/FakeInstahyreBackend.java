@@ -0,0 +1,131 @@
+package com.example.demo.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-in for the Instahyre API: the two listing endpoints and apply, with a fixed
+ * catalogue of jobs and a configurable response delay. Listing pages are capped at
+ * 50 items like the real server.
+ */
+class FakeInstahyreBackend implements AutoCloseable {
+
+	private static final int PAGE_CAP = 50;
+	private static final String[] SKILLS = {"Java", "Spring Boot", "Kafka", "AWS", "Docker", "Kubernetes", "MySQL", "Redis"};
+
+	private final HttpServer server;
+	private final int jobCount;
+	private final long latencyMs;
+	private final Set<String> applied = ConcurrentHashMap.newKeySet();
+	private final AtomicLong requests = new AtomicLong();
+
+	private FakeInstahyreBackend(int jobCount, long latencyMs) throws IOException {
+		this.jobCount = jobCount;
+		this.latencyMs = latencyMs;
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+		server.createContext("/api/v1/candidate_opportunity/apply", this::apply);
+		server.createContext("/api/v1/candidate_opportunity", exchange -> listing(exchange, false));
+		server.createContext("/api/v1/job_search", exchange -> listing(exchange, true));
+		server.createContext("/", exchange -> respond(exchange, 200, "text/html", "<html><body>fake</body></html>"));
+	}
+
+	static FakeInstahyreBackend start(int jobCount, long latencyMs) throws IOException {
+		FakeInstahyreBackend backend = new FakeInstahyreBackend(jobCount, latencyMs);
+		backend.server.start();
+		return backend;
+	}
+
+	String baseUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	long requestCount() {
+		return requests.get();
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+	}
+
+	private void listing(HttpExchange exchange, boolean jobSearch) throws IOException {
+		pause();
+		Map<String, String> query = query(exchange.getRequestURI());
+		int offset = Integer.parseInt(query.getOrDefault("offset", "0"));
+		int limit = Math.min(PAGE_CAP, Integer.parseInt(query.getOrDefault("limit", "20")));
+
+		StringBuilder json = new StringBuilder("{\"objects\":[");
+		for (int i = offset; i < Math.min(jobCount, offset + limit); i++) {
+			if (i > offset) json.append(',');
+			String keywords = "[\"" + SKILLS[i % SKILLS.length] + "\",\"" + SKILLS[(i * 7 + 3) % SKILLS.length] + "\"]";
+			String employer = "{\"company_name\":\"Company " + (i % 40) + "\"}";
+			if (jobSearch) {
+				json.append("{\"id\":").append(i).append(",\"employer\":").append(employer)
+						.append(",\"job\":{\"id\":").append(100_000 + i)
+						.append(",\"candidate_title\":\"Engineer ").append(i).append('"')
+						.append(",\"keywords\":").append(keywords).append("}}");
+			} else {
+				json.append("{\"id\":").append(200_000 + i).append(",\"employer\":").append(employer)
+						.append(",\"title\":\"Developer ").append(i).append('"')
+						.append(",\"keywords\":").append(keywords).append('}');
+			}
+		}
+		json.append("]}");
+		respond(exchange, 200, "application/json", json.toString());
+	}
+
+	private void apply(HttpExchange exchange) throws IOException {
+		pause();
+		String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+		if (!"POST".equals(exchange.getRequestMethod())) {
+			respond(exchange, 405, "application/json", "{}");
+		} else if (!applied.add(body)) {
+			respond(exchange, 400, "application/json", "{\"error\":\"You have already applied to this job\"}");
+		} else {
+			respond(exchange, 200, "application/json", "{\"success\":true}");
+		}
+	}
+
+	private void pause() {
+		requests.incrementAndGet();
+		if (latencyMs <= 0) return;
+		try {
+			Thread.sleep(latencyMs);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", contentType);
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	private static Map<String, String> query(URI uri) {
+		Map<String, String> params = new HashMap<>();
+		String raw = uri.getRawQuery();
+		if (raw == null) return params;
+		for (String pair : raw.split("&")) {
+			int eq = pair.indexOf('=');
+			if (eq > 0) params.put(pair.substring(0, eq), pair.substring(eq + 1));
+		}
+		return params;
+	}
+}
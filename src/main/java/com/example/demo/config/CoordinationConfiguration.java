@@ -0,0 +1,31 @@
+package com.example.demo.config;
+
+import com.example.demo.coordination.InMemoryJobCoordinator;
+import com.example.demo.coordination.JdbcJobCoordinator;
+import com.example.demo.coordination.JobCoordinator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class CoordinationConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "instahyre.coordination", name = "mode", havingValue = "jdbc")
+    public JobCoordinator jdbcJobCoordinator(JdbcTemplate jdbcTemplate, InstahyreConfig config) {
+        InstahyreConfig.CoordinationConfig coordination = config.getCoordination();
+        JdbcJobCoordinator coordinator = new JdbcJobCoordinator(jdbcTemplate,
+                coordination.getInstanceId(), Duration.ofMillis(coordination.getClaimTtlMs()));
+        coordinator.initSchema();
+        return coordinator;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "instahyre.coordination", name = "mode", havingValue = "memory", matchIfMissing = true)
+    public JobCoordinator inMemoryJobCoordinator(InstahyreConfig config) {
+        return new InMemoryJobCoordinator(config.getCoordination().getInstanceId());
+    }
+}
@@ -5,7 +5,10 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Configuration
 @ConfigurationProperties(prefix = "instahyre")
@@ -14,10 +17,25 @@ public class InstahyreConfig {
     private String username;
     private String password;
     private List<String> keywords;
+    private boolean keywordFilter; // only apply to jobs whose skills match a keyword
     private boolean useManualCookies;
     private String sessionid;
     private String csrftoken;
+    private String baseUrl = "https://www.instahyre.com"; // overridden to point at a fake backend in load tests
     private JobSearchConfig jobSearch = new JobSearchConfig();
+    private SessionConfig session = new SessionConfig();
+    private PacingConfig pacing = new PacingConfig();
+    private CoordinationConfig coordination = new CoordinationConfig();
+    private DriverConfig driver = new DriverConfig();
+    private CheckpointConfig checkpoint = new CheckpointConfig();
+    private PagingConfig paging = new PagingConfig();
+    private CrawlConfig crawl = new CrawlConfig();
+    private ExtractionConfig extraction = new ExtractionConfig();
+    private ProfilingConfig profiling = new ProfilingConfig();
+    private SnapshotConfig snapshot = new SnapshotConfig();
+    private EventsConfig events = new EventsConfig();
+    private TargetingConfig targeting = new TargetingConfig();
+    private AnalyticsConfig analytics = new AnalyticsConfig();
 
     @Data
     public static class JobSearchConfig {
@@ -26,4 +44,115 @@ public class InstahyreConfig {
         private List<String> locations = new ArrayList<>();
         private int yearsOfExperience = 3;
     }
-}
\ No newline at end of file
+
+    @Data
+    public static class SessionConfig {
+        private long keepAliveMs = 600000; // interval between keep-alive probes
+        private boolean browserLogin = true; // false: trust the configured cookies without opening a browser
+    }
+
+    @Data
+    public static class PacingConfig {
+        private long pageDelayMs = 1000; // between listing pages
+        private long applyDelayMs = 3000; // between apply requests
+    }
+
+    @Data
+    public static class DriverConfig {
+        private String chromedriverPath; // local chromedriver; skips WebDriverManager's network lookup
+    }
+
+    @Data
+    public static class CoordinationConfig {
+        private String mode = "memory"; // "memory" (single instance) or "jdbc" (shared database)
+        private String instanceId = UUID.randomUUID().toString();
+        private long claimTtlMs = 1800000; // a claim older than this is considered abandoned
+        private long runLeaseMs = 3300000; // how long one instance owns the scheduled run
+    }
+
+    @Data
+    public static class CheckpointConfig {
+        private boolean enabled = true;
+        private String dir = "checkpoints"; // run journal location
+        private boolean resumeOnStartup = true;
+    }
+
+    @Data
+    public static class PagingConfig {
+        private int minLimit = 10;
+        private int maxLimit = 200; // first page probes with this size
+        private int maxJobs = 1500; // per endpoint, replaces the old 50-page cap
+        private long targetLatencyMs = 3000;
+        private int maxResponseBytes = 2_000_000;
+    }
+
+    @Data
+    public static class CrawlConfig {
+        private int memoryBudget = 0; // jobs held in memory per run before spilling to disk; 0 = no limit
+        private String spillDir = "checkpoints/spill";
+    }
+
+    @Data
+    public static class EventsConfig {
+        private int bufferSize = 1024; // events kept for slow or reconnecting clients
+        private long emitterTimeoutMs = 1800000;
+    }
+
+    @Data
+    public static class TargetingConfig {
+        private String file; // optional YAML file with keywords/job-search, reloaded when it changes
+        private long pollMs = 5000;
+    }
+
+    @Data
+    public static class AnalyticsConfig {
+        private boolean enabled = true;
+        private long flushMs = 10000; // how often buffered outcomes are written
+    }
+
+    @Data
+    public static class ProfilingConfig {
+        private String dir = "profiles"; // where on-demand JFR recordings are written
+        private String settings = "profile"; // JFR settings: "default" or "profile" (lower thresholds, more samples)
+        private long maxDurationSeconds = 600; // a recording stops itself after this long
+        private long maxSizeMb = 100;
+    }
+
+    @Data
+    public static class SnapshotConfig {
+        private String dir = "snapshots"; // stored snapshots and the known-good one per page
+        private Map<String, String> pages = new LinkedHashMap<>(Map.of( // paths are resolved against base-url
+                "login", "/login",
+                "opportunities", "/candidate/opportunities"));
+    }
+
+    @Data
+    public static class ExtractionConfig {
+        private FieldPaths candidateOpportunity = FieldPaths.of(
+                List.of("/id"), List.of("/employer/company_name"), List.of("/title"), List.of("/keywords"));
+        private FieldPaths jobSearch = FieldPaths.of(
+                List.of("/job/id", "/id"), List.of("/employer/company_name"),
+                List.of("/job/candidate_title", "/title"), List.of("/job/keywords", "/keywords"));
+    }
+
+    /**
+     * JSON pointers per field, tried in order until one resolves.
+     */
+    @Data
+    public static class FieldPaths {
+        private List<String> items = new ArrayList<>(List.of("/objects", "/results"));
+        private List<String> id = new ArrayList<>();
+        private List<String> company = new ArrayList<>();
+        private List<String> title = new ArrayList<>();
+        private List<String> keywords = new ArrayList<>();
+
+        static FieldPaths of(List<String> id, List<String> company, List<String> title, List<String> keywords) {
+            FieldPaths paths = new FieldPaths();
+            paths.id = new ArrayList<>(id);
+            paths.company = new ArrayList<>(company);
+            paths.title = new ArrayList<>(title);
+            paths.keywords = new ArrayList<>(keywords);
+            return paths;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.TargetingUpdate;
+import com.example.demo.profiling.ProfilingService;
+import com.example.demo.service.JobExtractors;
+import com.example.demo.service.TargetingService;
+import com.example.demo.service.TargetingSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@Slf4j
+public class AdminController {
+
+    private final TargetingService targetingService;
+    private final JobExtractors extractors;
+    private final ProfilingService profilingService;
+
+    /**
+     * Get the targeting configuration in effect
+     */
+    @GetMapping("/targeting")
+    public ResponseEntity<?> getTargeting() {
+        return ResponseEntity.ok(describe(targetingService.current()));
+    }
+
+    /**
+     * Validate and swap in new keywords / job-search settings without a restart
+     */
+    @PutMapping("/targeting")
+    public ResponseEntity<?> updateTargeting(@RequestBody TargetingUpdate update) {
+        try {
+            TargetingSnapshot snapshot = targetingService.apply(update, "admin endpoint");
+            Map<String, Object> response = describe(snapshot);
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Restore the previous targeting configuration
+     */
+    @PostMapping("/targeting/rollback")
+    public ResponseEntity<?> rollbackTargeting() {
+        try {
+            Map<String, Object> response = describe(targetingService.rollback());
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Listing items parsed, skipped and per-field misses per endpoint since startup
+     */
+    @GetMapping("/extraction")
+    public ResponseEntity<?> getExtractionStats() {
+        return ResponseEntity.ok(extractors.stats());
+    }
+
+    /**
+     * Start a Flight Recorder recording, capped at instahyre.profiling.max-duration-seconds
+     */
+    @PostMapping("/profiling/start")
+    public ResponseEntity<?> startProfiling(@RequestParam(required = false) Long durationSeconds) {
+        try {
+            Map<String, Object> response = profilingService.start(
+                    durationSeconds != null ? Duration.ofSeconds(durationSeconds) : null);
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (Exception e) {
+            log.error("Failed to start JFR recording", e);
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("error", e.getMessage());
+            return ResponseEntity.internalServerError().body(error);
+        }
+    }
+
+    /**
+     * Stop the recording (if still running) and download the .jfr file
+     */
+    @PostMapping("/profiling/stop")
+    public ResponseEntity<?> stopProfiling() {
+        try {
+            Path file = profilingService.stop();
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                    .body(new FileSystemResource(file));
+        } catch (IllegalStateException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (Exception e) {
+            log.error("Failed to stop JFR recording", e);
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("error", e.getMessage());
+            return ResponseEntity.internalServerError().body(error);
+        }
+    }
+
+    @GetMapping("/profiling")
+    public ResponseEntity<?> getProfilingStatus() {
+        return ResponseEntity.ok(profilingService.status());
+    }
+
+    private Map<String, Object> describe(TargetingSnapshot snapshot) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("version", snapshot.version());
+        response.put("loadedAt", snapshot.loadedAt());
+        response.put("origin", snapshot.origin());
+        response.put("keywords", snapshot.keywords());
+        response.put("keywordFilter", snapshot.keywordFilter());
+        response.put("jobSearchEnabled", snapshot.jobSearchEnabled());
+        response.put("skills", snapshot.skills());
+        response.put("locations", snapshot.locations());
+        response.put("yearsOfExperience", snapshot.yearsOfExperience());
+        return response;
+    }
+}
@@ -1,11 +1,11 @@
 package com.example.demo.controller;
 
-import com.example.demo.service.InstahyreDebugService;
+import com.example.demo.dto.SnapshotJob;
+import com.example.demo.service.PageSnapshotService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
 
@@ -14,21 +14,57 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class DebugController {
 
-    private final InstahyreDebugService debugService;
+    private final PageSnapshotService snapshotService;
 
-    @GetMapping("/inspect-login")
-    public ResponseEntity<?> inspectLoginPage() {
+    /**
+     * Queue a structural snapshot of a page; poll /snapshots/{jobId} for the result
+     */
+    @PostMapping("/snapshots")
+    public ResponseEntity<?> snapshot(@RequestParam(defaultValue = "login") String page) {
         try {
-            debugService.inspectLoginPage();
+            SnapshotJob job = snapshotService.submit(page);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
+                    "success", true,
+                    "jobId", job.getId(),
+                    "status", job.getStatus()
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "error", e.getMessage()
+            ));
+        }
+    }
+
+    @GetMapping("/snapshots/{jobId}")
+    public ResponseEntity<?> getSnapshot(@PathVariable String jobId) {
+        return snapshotService.job(jobId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Accept a snapshot's structure as the new known-good one for its page
+     */
+    @PostMapping("/snapshots/{jobId}/accept")
+    public ResponseEntity<?> acceptSnapshot(@PathVariable String jobId) {
+        try {
+            SnapshotJob job = snapshotService.accept(jobId);
             return ResponseEntity.ok(Map.of(
                     "success", true,
-                    "message", "Check console logs for page inspection details"
+                    "jobId", job.getId(),
+                    "page", job.getPage()
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "error", e.getMessage()
             ));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(Map.of(
                     "success", false,
-                    "error", e.getMessage()
+                    "error", String.valueOf(e.getMessage())
             ));
         }
     }
-}
\ No newline at end of file
+}
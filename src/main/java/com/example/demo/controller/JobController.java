@@ -1,13 +1,18 @@
 package com.example.demo.controller;
 
-import com.example.demo.config.InstahyreConfig;
 import com.example.demo.dto.JobDTO;
 import com.example.demo.service.AutoApplierService;
 import com.example.demo.service.InstahyreScraperService;
+import com.example.demo.service.InstahyreSession;
+import com.example.demo.service.InstahyreSessionManager;
+import com.example.demo.service.JobEventBus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.List;
@@ -20,8 +25,11 @@ import java.util.Map;
 public class JobController {
 
     private final AutoApplierService autoApplierService;
+    @Lazy
     private final InstahyreScraperService scraperService;
-    private final InstahyreConfig config;
+    private final InstahyreSessionManager sessionManager;
+    private final InstahyreSession session;
+    private final JobEventBus eventBus;
 
     /**
      * Get all available jobs from Instahyre
@@ -29,25 +37,13 @@ public class JobController {
     @GetMapping
     public ResponseEntity<?> getJobs() {
         try {
-            scraperService.initDriver();
-
-            // Use cookie-based login
-            if (config.isUseManualCookies()) {
-                if (config.getSessionid() == null || config.getCsrftoken() == null) {
-                    Map<String, Object> error = new HashMap<>();
-                    error.put("success", false);
-                    error.put("error", "Cookie-based auth enabled but cookies are missing. Please add sessionid and csrftoken to application.yml");
-                    return ResponseEntity.badRequest().body(error);
-                }
-
-                scraperService.loginWithManualCookies(
-                        config.getSessionid(),
-                        config.getCsrftoken()
-                );
-            } else {
+            // Reuses the cached session; only logs in when there is none yet
+            try {
+                sessionManager.ensureSession();
+            } catch (IllegalStateException e) {
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
-                error.put("error", "Automatic login is not supported. Please enable cookie-based authentication in application.yml (set use-manual-cookies: true)");
+                error.put("error", e.getMessage());
                 return ResponseEntity.badRequest().body(error);
             }
 
@@ -59,6 +55,12 @@ public class JobController {
             response.put("jobs", jobs);
 
             return ResponseEntity.ok(response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("error", "Interrupted while fetching jobs");
+            return ResponseEntity.internalServerError().body(error);
         } catch (Exception e) {
             log.error("Error fetching jobs", e);
             Map<String, Object> error = new HashMap<>();
@@ -91,6 +93,27 @@ public class JobController {
         }
     }
 
+    /**
+     * Live feed of new-job, applied, skipped and failed events (Server-Sent Events).
+     * Reconnecting clients resume after the Last-Event-ID they last received.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return eventBus.subscribe(lastEventId);
+    }
+
+    /**
+     * Cancel the auto-applier run in progress
+     */
+    @PostMapping("/cancel")
+    public ResponseEntity<?> cancelRun() {
+        boolean cancelled = autoApplierService.cancelCurrentRun();
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", cancelled);
+        response.put("message", cancelled ? "Cancellation requested" : "No run in progress");
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get status of auto-applier
      */
@@ -98,6 +121,9 @@ public class JobController {
     public ResponseEntity<?> getStatus() {
         Map<String, Object> status = new HashMap<>();
         status.put("appliedJobsCount", autoApplierService.getAppliedJobsCount());
+        status.put("sessionValid", session.isValid());
+        status.put("sessionValidatedAt", session.getValidatedAt());
+        status.put("sessionExpiredReason", session.getExpiredReason());
         return ResponseEntity.ok(status);
     }
 
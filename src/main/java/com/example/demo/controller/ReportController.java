@@ -0,0 +1,90 @@
+package com.example.demo.controller;
+
+import com.example.demo.service.OutcomeAnalytics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+@Slf4j
+public class ReportController {
+
+    private final OutcomeAnalytics analytics;
+
+    /**
+     * Outcome totals by source, company, skill or HTTP status over a date range (UTC, to exclusive)
+     */
+    @GetMapping("/outcomes")
+    public ResponseEntity<?> getOutcomes(
+            @RequestParam(defaultValue = "company") String dimension,
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "50") int limit) {
+        if (!OutcomeAnalytics.DIMENSIONS.contains(dimension) || !OutcomeAnalytics.GRANULARITIES.contains(granularity)) {
+            return badRequest("dimension must be one of " + OutcomeAnalytics.DIMENSIONS
+                    + " and granularity one of " + OutcomeAnalytics.GRANULARITIES);
+        }
+
+        analytics.flush();
+        Map<String, Object> response = new HashMap<>();
+        response.put("dimension", dimension);
+        response.put("granularity", granularity);
+        response.put("from", start(from));
+        response.put("to", end(to));
+        response.put("rows", analytics.report(granularity, dimension, start(from), end(to), Math.clamp(limit, 1, 1000)));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Outcome counts per hour or day over a date range (UTC, to exclusive)
+     */
+    @GetMapping("/timeline")
+    public ResponseEntity<?> getTimeline(
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (!OutcomeAnalytics.GRANULARITIES.contains(granularity)) {
+            return badRequest("granularity must be one of " + OutcomeAnalytics.GRANULARITIES);
+        }
+
+        analytics.flush();
+        Map<String, Object> response = new HashMap<>();
+        response.put("granularity", granularity);
+        response.put("from", start(from));
+        response.put("to", end(to));
+        response.put("rows", analytics.timeline(granularity, start(from), end(to)));
+        return ResponseEntity.ok(response);
+    }
+
+    // Defaults: last 30 days, up to and including today
+    private Instant start(LocalDate from) {
+        LocalDate date = from != null ? from : LocalDate.now(ZoneOffset.UTC).minusDays(30);
+        return date.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private Instant end(LocalDate to) {
+        LocalDate date = to != null ? to : LocalDate.now(ZoneOffset.UTC).plusDays(1);
+        return date.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private ResponseEntity<?> badRequest(String message) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("error", message);
+        return ResponseEntity.badRequest().body(error);
+    }
+}
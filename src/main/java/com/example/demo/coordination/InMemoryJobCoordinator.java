@@ -0,0 +1,60 @@
+package com.example.demo.coordination;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-instance coordinator; state lives in this JVM only.
+ */
+public class InMemoryJobCoordinator implements JobCoordinator {
+
+    private static final String APPLIED = "APPLIED";
+
+    // job key -> APPLIED, or the owner of an in-flight claim
+    private final Map<String, String> jobs = new ConcurrentHashMap<>();
+    private final String instanceId;
+
+    public InMemoryJobCoordinator(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    @Override
+    public boolean tryAcquireRunLease(String name, Duration ttl) {
+        return true; // the only instance always holds its own leases
+    }
+
+    @Override
+    public void releaseRunLease(String name) {
+    }
+
+    @Override
+    public boolean claim(String jobKey) {
+        return jobs.putIfAbsent(jobKey, instanceId) == null;
+    }
+
+    @Override
+    public void markApplied(String jobKey) {
+        jobs.put(jobKey, APPLIED);
+    }
+
+    @Override
+    public void release(String jobKey) {
+        jobs.remove(jobKey, instanceId);
+    }
+
+    @Override
+    public boolean isApplied(String jobKey) {
+        return APPLIED.equals(jobs.get(jobKey));
+    }
+
+    @Override
+    public int appliedCount() {
+        return (int) jobs.values().stream().filter(APPLIED::equals).count();
+    }
+
+    @Override
+    public void clearApplied() {
+        jobs.values().removeIf(APPLIED::equals);
+    }
+}
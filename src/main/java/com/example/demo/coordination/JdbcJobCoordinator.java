@@ -0,0 +1,123 @@
+package com.example.demo.coordination;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+
+/**
+ * Coordinator backed by a shared database, so several replicas split the work.
+ * Claims rely on the primary key for atomicity: the first INSERT wins, and a claim
+ * left behind by a dead instance can be taken over once it is older than the TTL.
+ * Timestamps come from the database clock, so clock skew between replicas does not
+ * shorten or stretch a TTL. The clock is read once per call and the results are bound
+ * as parameters, which keeps the SQL free of vendor-specific date arithmetic.
+ */
+@Slf4j
+public class JdbcJobCoordinator implements JobCoordinator {
+
+    private final JdbcTemplate jdbc;
+    private final String instanceId;
+    private final Duration claimTtl;
+
+    public JdbcJobCoordinator(JdbcTemplate jdbc, String instanceId, Duration claimTtl) {
+        this.jdbc = jdbc;
+        this.instanceId = instanceId;
+        this.claimTtl = claimTtl;
+    }
+
+    public void initSchema() {
+        jdbc.execute("""
+                CREATE TABLE IF NOT EXISTS applier_job_claim (
+                    job_key    VARCHAR(64)  PRIMARY KEY,
+                    owner      VARCHAR(128) NOT NULL,
+                    status     VARCHAR(16)  NOT NULL,
+                    updated_at TIMESTAMP    NOT NULL
+                )""");
+        jdbc.execute("""
+                CREATE TABLE IF NOT EXISTS applier_run_lease (
+                    name       VARCHAR(64)  PRIMARY KEY,
+                    owner      VARCHAR(128) NOT NULL,
+                    expires_at TIMESTAMP    NOT NULL
+                )""");
+        log.info("Job coordination tables ready (instance {})", instanceId);
+    }
+
+    @Override
+    public boolean tryAcquireRunLease(String name, Duration ttl) {
+        Timestamp now = databaseNow();
+        Timestamp expiresAt = Timestamp.from(now.toInstant().plus(ttl));
+        int renewed = jdbc.update(
+                "UPDATE applier_run_lease SET owner = ?, expires_at = ? WHERE name = ? AND (owner = ? OR expires_at < ?)",
+                instanceId, expiresAt, name, instanceId, now);
+        if (renewed == 1) {
+            return true;
+        }
+        try {
+            jdbc.update("INSERT INTO applier_run_lease (name, owner, expires_at) VALUES (?, ?, ?)",
+                    name, instanceId, expiresAt);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void releaseRunLease(String name) {
+        jdbc.update("DELETE FROM applier_run_lease WHERE name = ? AND owner = ?", name, instanceId);
+    }
+
+    @Override
+    public boolean claim(String jobKey) {
+        Timestamp now = databaseNow();
+        try {
+            jdbc.update("INSERT INTO applier_job_claim (job_key, owner, status, updated_at) VALUES (?, ?, 'CLAIMED', ?)",
+                    jobKey, instanceId, now);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // Take over a claim whose owner stopped before applying or releasing it
+            Timestamp staleBefore = Timestamp.from(now.toInstant().minus(claimTtl));
+            return jdbc.update(
+                    "UPDATE applier_job_claim SET owner = ?, updated_at = ? WHERE job_key = ? AND status = 'CLAIMED' AND updated_at < ?",
+                    instanceId, now, jobKey, staleBefore) == 1;
+        }
+    }
+
+    @Override
+    public void markApplied(String jobKey) {
+        jdbc.update("UPDATE applier_job_claim SET status = 'APPLIED', owner = ?, updated_at = ? WHERE job_key = ?",
+                instanceId, databaseNow(), jobKey);
+    }
+
+    @Override
+    public void release(String jobKey) {
+        jdbc.update("DELETE FROM applier_job_claim WHERE job_key = ? AND owner = ? AND status = 'CLAIMED'",
+                jobKey, instanceId);
+    }
+
+    @Override
+    public boolean isApplied(String jobKey) {
+        Integer count = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM applier_job_claim WHERE job_key = ? AND status = 'APPLIED'", Integer.class, jobKey);
+        return count != null && count > 0;
+    }
+
+    @Override
+    public int appliedCount() {
+        Integer count = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM applier_job_claim WHERE status = 'APPLIED'", Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public void clearApplied() {
+        jdbc.update("DELETE FROM applier_job_claim WHERE status = 'APPLIED'");
+    }
+
+    // Plain CURRENT_TIMESTAMP works on H2, PostgreSQL and MySQL; interval arithmetic does not
+    private Timestamp databaseNow() {
+        return jdbc.queryForObject("SELECT CURRENT_TIMESTAMP", Timestamp.class);
+    }
+}
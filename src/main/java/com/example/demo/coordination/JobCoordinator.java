@@ -0,0 +1,35 @@
+package com.example.demo.coordination;
+
+import java.time.Duration;
+
+/**
+ * Coordinates applier instances so each job is applied to once across replicas.
+ * A job must be {@link #claim claimed} before applying; the claim is then either
+ * turned into {@link #markApplied applied} or {@link #release released} for a retry.
+ */
+public interface JobCoordinator {
+
+    /**
+     * Take (or renew) a named lease for this instance. Returns false while another
+     * instance holds an unexpired lease with the same name.
+     */
+    boolean tryAcquireRunLease(String name, Duration ttl);
+
+    void releaseRunLease(String name);
+
+    /**
+     * Atomically claim a job for this instance. Returns false if the job is already
+     * applied or claimed by another instance whose claim has not gone stale.
+     */
+    boolean claim(String jobKey);
+
+    void markApplied(String jobKey);
+
+    void release(String jobKey);
+
+    boolean isApplied(String jobKey);
+
+    int appliedCount();
+
+    void clearApplied();
+}
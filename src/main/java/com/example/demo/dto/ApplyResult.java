@@ -0,0 +1,15 @@
+package com.example.demo.dto;
+
+public record ApplyResult(Outcome outcome, int httpStatus) {
+
+    public enum Outcome {
+        APPLIED,
+        ALREADY_APPLIED,
+        FAILED,
+        SESSION_EXPIRED
+    }
+
+    public boolean isApplied() {
+        return outcome == Outcome.APPLIED;
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.demo.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.BitSet;
 import java.util.List;
 
 @Data
@@ -12,8 +14,39 @@ public class JobDTO {
     private String source = "opportunity"; // "opportunity" or "job_search"
     private String jobId; // only for job_search (numeric, e.g. "411859")
     private String id; // Opportunity ID from API
-    private String title;
-    private String company;
-    private List<String> skills;
+    @JsonIgnore
+    private String role; // raw job title; the display title is derived from it
+    @JsonIgnore
+    private int companyId; // id in TokenDictionary.COMPANIES
+    @JsonIgnore
+    private BitSet skillSet; // ids in TokenDictionary.SKILLS
     private boolean applied; // Track if application was successful
+
+    public String getCompany() {
+        return TokenDictionary.COMPANIES.tokenOf(companyId);
+    }
+
+    /**
+     * Display title, built on demand rather than stored per job.
+     */
+    public String getTitle() {
+        String company = getCompany();
+        return company == null ? role : company + " - " + role;
+    }
+
+    public List<String> getSkills() {
+        return TokenDictionary.SKILLS.decode(skillSet);
+    }
+
+    public static class JobDTOBuilder {
+        public JobDTOBuilder company(String company) {
+            this.companyId = company == null ? 0 : TokenDictionary.COMPANIES.idOf(company);
+            return this;
+        }
+
+        public JobDTOBuilder skills(List<String> skills) {
+            this.skillSet = TokenDictionary.SKILLS.encode(skills);
+            return this;
+        }
+    }
 }
@@ -0,0 +1,9 @@
+package com.example.demo.dto;
+
+import java.time.Instant;
+
+/**
+ * One pipeline event for the live feed: "new-job", "applied", "skipped" or "failed".
+ */
+public record JobEvent(long id, String type, Instant at, String source, String jobKey, String title, String detail) {
+}
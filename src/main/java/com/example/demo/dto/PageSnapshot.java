@@ -0,0 +1,15 @@
+package com.example.demo.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Structural fingerprint of one page and of the listing API responses at a point in time.
+ *
+ * @param domPaths  element paths (tag plus id/name/type/role) with how often each occurs
+ * @param apiShapes per endpoint, the JSON pointers present in a response and their value types
+ */
+public record PageSnapshot(String id, String page, String url, String takenAt,
+                           String domFingerprint, Map<String, Integer> domPaths,
+                           String apiFingerprint, Map<String, List<String>> apiShapes) {
+}
@@ -0,0 +1,16 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * Differences between a snapshot and the known-good snapshot of the same page.
+ * Only the first entries of each list are kept.
+ */
+public record SnapshotDiff(String baselineId, boolean domChanged, List<String> addedElements,
+                           List<String> removedElements, boolean apiChanged, List<String> addedFields,
+                           List<String> removedFields) {
+
+    public boolean hasDrift() {
+        return domChanged || apiChanged;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * A snapshot request and, once it has run, its result.
+ */
+@Data
+public class SnapshotJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        DONE,
+        FAILED
+    }
+
+    private final String id;
+    private final String page;
+    private final Instant requestedAt = Instant.now();
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile PageSnapshot snapshot;
+    private volatile SnapshotDiff diff; // null when there was no known-good snapshot yet
+}
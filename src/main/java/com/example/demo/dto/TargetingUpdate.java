@@ -0,0 +1,25 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Keyword and job-search settings that can be swapped at runtime, from the admin
+ * endpoint (JSON) or the watched targeting file (same keys as application.yml).
+ * Settings left out (null) keep their current value.
+ */
+@Data
+public class TargetingUpdate {
+    private List<String> keywords;
+    private Boolean keywordFilter;
+    private JobSearch jobSearch;
+
+    @Data
+    public static class JobSearch {
+        private Boolean enabled;
+        private List<String> skills;
+        private List<String> locations;
+        private Integer yearsOfExperience;
+    }
+}
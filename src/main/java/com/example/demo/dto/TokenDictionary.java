@@ -0,0 +1,61 @@
+package com.example.demo.dto;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide dictionary mapping repeated strings (company names, skill tokens)
+ * to small integer ids, so each distinct value is stored once no matter how many
+ * jobs reference it. Ids start at 1; 0 means "no value".
+ */
+public final class TokenDictionary {
+
+    public static final TokenDictionary COMPANIES = new TokenDictionary();
+    public static final TokenDictionary SKILLS = new TokenDictionary();
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] tokens = new String[64];
+    private volatile int size;
+
+    private TokenDictionary() {
+    }
+
+    public int idOf(String token) {
+        Integer id = ids.get(token);
+        if (id != null) return id;
+        synchronized (this) {
+            return ids.computeIfAbsent(token, t -> {
+                if (size == tokens.length) {
+                    tokens = Arrays.copyOf(tokens, size * 2);
+                }
+                tokens[size] = t;
+                return ++size;
+            });
+        }
+    }
+
+    public String tokenOf(int id) {
+        return id <= 0 ? null : tokens[id - 1];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public BitSet encode(Collection<String> values) {
+        BitSet bits = new BitSet();
+        if (values != null) {
+            for (String value : values) bits.set(idOf(value));
+        }
+        return bits;
+    }
+
+    public List<String> decode(BitSet bits) {
+        if (bits == null) return List.of();
+        return bits.stream().mapToObj(this::tokenOf).toList();
+    }
+}
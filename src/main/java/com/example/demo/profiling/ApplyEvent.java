@@ -0,0 +1,26 @@
+package com.example.demo.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("instahyre.Apply")
+@Label("Apply")
+@Category({"Instahyre", "HTTP"})
+@Description("One apply request")
+public class ApplyEvent extends Event {
+
+    @Label("Source")
+    public String source;
+
+    @Label("Job Key")
+    public String jobKey;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("HTTP Status")
+    public int httpStatus;
+}
@@ -0,0 +1,20 @@
+package com.example.demo.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("instahyre.DriverInit")
+@Label("Driver Init")
+@Category({"Instahyre", "Browser"})
+@Description("Chrome and chromedriver start-up")
+public class DriverInitEvent extends Event {
+
+    @Label("Local Driver")
+    public boolean localDriver;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,20 @@
+package com.example.demo.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("instahyre.Login")
+@Label("Login")
+@Category({"Instahyre", "Browser"})
+@Description("Cookie-based login through the browser, including its page loads and waits")
+public class LoginEvent extends Event {
+
+    @Label("Final URL")
+    public String finalUrl;
+
+    @Label("Success")
+    public boolean success;
+}
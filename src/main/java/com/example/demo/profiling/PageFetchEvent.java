@@ -0,0 +1,31 @@
+package com.example.demo.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("instahyre.PageFetch")
+@Label("Page Fetch")
+@Category({"Instahyre", "HTTP"})
+@Description("One listing page request: connect, TLS, server time and body transfer")
+public class PageFetchEvent extends Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Offset")
+    public int offset;
+
+    @Label("Limit")
+    public int limit;
+
+    @Label("Response Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Session Lost")
+    public boolean sessionLost;
+}
@@ -0,0 +1,23 @@
+package com.example.demo.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("instahyre.PageParse")
+@Label("Page Parse")
+@Category({"Instahyre", "Parsing"})
+@Description("JSON parsing and field extraction for one listing page")
+public class PageParseEvent extends Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Items")
+    public int items;
+
+    @Label("Jobs")
+    public int jobs;
+}
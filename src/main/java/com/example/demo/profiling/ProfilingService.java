@@ -0,0 +1,132 @@
+package com.example.demo.profiling;
+
+import com.example.demo.config.InstahyreConfig;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Starts and stops one Flight Recorder recording at a time.
+ * Recordings are capped in duration and size and stop by themselves at the cap;
+ * the file stays on disk until it is fetched with {@link #stop()}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProfilingService {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final InstahyreConfig config;
+    private final ReentrantLock lock = new ReentrantLock();
+    private Recording recording;
+    private Path destination;
+
+    /**
+     * @param duration how long to record, capped at the configured maximum
+     * @throws IllegalStateException if a recording is already running
+     */
+    public Map<String, Object> start(Duration duration) throws IOException, ParseException {
+        lock.lock();
+        try {
+            return startRecording(duration);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Map<String, Object> startRecording(Duration duration) throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        discard();
+
+        InstahyreConfig.ProfilingConfig profiling = config.getProfiling();
+        Duration max = Duration.ofSeconds(profiling.getMaxDurationSeconds());
+        Duration bounded = duration == null || duration.compareTo(max) > 0 ? max : duration;
+
+        Path dir = Path.of(profiling.getDir());
+        Files.createDirectories(dir);
+        destination = dir.resolve("instahyre-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+
+        recording = new Recording(Configuration.getConfiguration(profiling.getSettings()));
+        recording.setName("instahyre-on-demand");
+        recording.enable("jdk.TLSHandshake"); // off in both built-in settings; needed to separate TLS from server time
+        recording.setToDisk(true);
+        recording.setDuration(bounded);
+        recording.setMaxSize(profiling.getMaxSizeMb() * 1024 * 1024);
+        recording.setDestination(destination); // written here on stop, including the automatic one
+        recording.start();
+        log.info("🎥 JFR recording started ({} settings, up to {}s) -> {}",
+                profiling.getSettings(), bounded.toSeconds(), destination);
+        return status();
+    }
+
+    /**
+     * Stop the recording if it is still running and return the file it was written to.
+     *
+     * @throws IllegalStateException if no recording was started
+     */
+    public Path stop() throws IOException {
+        lock.lock();
+        try {
+            return stopRecording();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Path stopRecording() throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("No recording was started");
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        if (!Files.exists(destination)) {
+            recording.dump(destination);
+        }
+        recording.close();
+        recording = null;
+        log.info("🎥 JFR recording stopped -> {} ({} bytes)", destination, Files.size(destination));
+        return destination;
+    }
+
+    public Map<String, Object> status() {
+        lock.lock();
+        try {
+            Map<String, Object> status = new HashMap<>();
+            status.put("state", recording != null ? recording.getState().name() : "NONE");
+            if (recording != null) {
+                status.put("startedAt", recording.getStartTime());
+                status.put("maxDurationSeconds", recording.getDuration() != null ? recording.getDuration().toSeconds() : null);
+                status.put("file", destination.toString());
+            }
+            return status;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // A finished recording that was never fetched; its file stays on disk
+    private void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("instahyre.Wait")
+@Label("Wait")
+@Category({"Instahyre", "Pacing"})
+@Description("Deliberate pause between requests or page loads")
+public class WaitEvent extends Event {
+
+    @Label("Reason")
+    public String reason;
+
+    @Label("Planned")
+    @Timespan(Timespan.MILLISECONDS)
+    public long plannedMs;
+
+    /**
+     * {@link Thread#sleep(long)}, recorded as a wait so pacing shows up separately from work.
+     */
+    public static void sleep(String reason, long millis) throws InterruptedException {
+        WaitEvent event = new WaitEvent();
+        event.begin();
+        try {
+            Thread.sleep(millis);
+        } finally {
+            event.reason = reason;
+            event.plannedMs = millis;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.service;
+
+import com.example.demo.config.InstahyreConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chooses the page size for each listing endpoint.
+ * The first request probes with the largest configured size. A short page that is
+ * followed by a non-empty one in the same crawl shows the server's real cap, which is
+ * remembered per endpoint. After that the size shrinks on slow or oversized responses and grows
+ * back while the server stays fast.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AdaptivePager {
+
+    private final InstahyreConfig config;
+    private final Map<String, PageSize> endpoints = new ConcurrentHashMap<>();
+
+    public int nextLimit(String endpoint) {
+        return state(endpoint).limit;
+    }
+
+    /**
+     * Feed back the outcome of one page request.
+     *
+     * @param requested page size that was asked for
+     * @param returned  number of items the server actually returned
+     * @param shortPage items on the previous page of the same crawl if it came back short, else 0;
+     *                  a non-empty page after it confirms that count as the server's cap
+     */
+    public void record(String endpoint, int requested, int returned, int shortPage, long latencyMs, int bytes) {
+        if (returned == 0) {
+            return; // any short page before it was simply the last one
+        }
+        InstahyreConfig.PagingConfig paging = config.getPaging();
+        PageSize state = state(endpoint);
+        synchronized (state) {
+            if (shortPage > 0) {
+                state.serverCap = shortPage;
+                state.limit = Math.max(paging.getMinLimit(), Math.min(state.limit, state.serverCap));
+                log.info("📏 {} honours at most {} items per page", endpoint, state.serverCap);
+            }
+            if (returned < requested) {
+                return; // until the next page of this crawl confirms it, a short page may just be the last one
+            }
+
+            int ceiling = state.serverCap > 0 ? Math.min(state.serverCap, paging.getMaxLimit()) : paging.getMaxLimit();
+            if (latencyMs > paging.getTargetLatencyMs() || bytes > paging.getMaxResponseBytes()) {
+                state.limit = Math.max(paging.getMinLimit(), state.limit / 2);
+                log.info("🐢 {} page took {}ms / {} bytes - page size down to {}", endpoint, latencyMs, bytes, state.limit);
+            } else if (latencyMs < paging.getTargetLatencyMs() / 2 && state.limit < ceiling) {
+                state.limit = Math.min(ceiling, state.limit * 2);
+                log.debug("{} page size up to {}", endpoint, state.limit);
+            }
+        }
+    }
+
+    private PageSize state(String endpoint) {
+        return endpoints.computeIfAbsent(endpoint, e -> new PageSize(config.getPaging().getMaxLimit()));
+    }
+
+    private static class PageSize {
+        private volatile int limit;
+        private int serverCap; // confirmed server-side maximum, 0 if unknown
+
+        PageSize(int limit) {
+            this.limit = limit;
+        }
+    }
+}
@@ -1,160 +1,348 @@
 package com.example.demo.service;
 
 import com.example.demo.config.InstahyreConfig;
+import com.example.demo.coordination.JobCoordinator;
+import com.example.demo.dto.ApplyResult;
 import com.example.demo.dto.JobDTO;
+import com.example.demo.profiling.WaitEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
+@Lazy(false)
 @RequiredArgsConstructor
 @Slf4j
 public class AutoApplierService {
 
+    @Lazy
     private final InstahyreScraperService scraperService;
+    private final InstahyreSessionManager sessionManager;
+    private final InstahyreSession session;
     private final InstahyreConfig config;
+    private final RunCheckpointStore checkpointStore;
+    private final JobEventBus eventBus;
+    private final TargetingService targetingService;
+    private final OutcomeAnalytics analytics;
 
-    // Track applied jobs by a unique key (opportunityId or jobId)
-    private final Set<String> appliedJobIds = Collections.synchronizedSet(new HashSet<>());
+    // Tracks claimed/applied jobs by a unique key (opportunityId or jobId), shared across instances
+    private final JobCoordinator coordinator;
+
+    // Scope of the run in progress, if any — used for cancellation
+    private final AtomicReference<RunScope> currentRun = new AtomicReference<>();
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
 
     @Scheduled(fixedRate = 3600000)
     public void scheduledAutoApplier() {
+        // The lease is left to expire rather than released, so only one replica runs per period
+        Duration lease = Duration.ofMillis(config.getCoordination().getRunLeaseMs());
+        if (!coordinator.tryAcquireRunLease("scheduled-run", lease)) {
+            log.info("Scheduled auto applier skipped - another instance holds the run lease");
+            return;
+        }
         log.info("Scheduled auto applier triggered");
         runAutoApplier();
     }
 
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedRun() {
+        if (config.getCheckpoint().isResumeOnStartup() && checkpointStore.hasUnfinishedRun()) {
+            log.info("Unfinished run found on startup - resuming it");
+            Thread.ofVirtual().name("applier-resume").start(this::runAutoApplier);
+        }
+    }
+
     public List<JobDTO> runAutoApplier() {
         log.info("Starting auto applier for Instahyre");
         List<JobDTO> appliedJobs = new ArrayList<>();
 
-        try {
-            scraperService.initDriver();
-
-            if (!config.isUseManualCookies()) {
-                log.error("❌ Please enable cookie-based authentication in application.yml");
-                return appliedJobs;
-            }
+        RunScope scope = new RunScope(runThreadFactory());
+        if (!currentRun.compareAndSet(null, scope)) {
+            scope.close();
+            log.warn("Auto applier is already running - skipping this trigger");
+            return appliedJobs;
+        }
 
-            if (config.getSessionid() == null || config.getCsrftoken() == null) {
-                log.error("❌ sessionid or csrftoken missing in application.yml");
+        try (scope) {
+            try {
+                sessionManager.ensureSession();
+            } catch (IllegalStateException e) {
+                log.error("❌ {}", e.getMessage());
                 return appliedJobs;
             }
 
-            scraperService.loginWithManualCookies(
-                    config.getSessionid(),
-                    config.getCsrftoken()
-            );
-
-            // Scrape both sources
-            List<JobDTO> opportunityJobs = scraperService.scrapeJobs();
-            log.info("Scraped {} opportunity jobs", opportunityJobs.size());
-
-            List<JobDTO> jobSearchJobs = scraperService.scrapeJobSearch();
-            log.info("Scraped {} job_search jobs", jobSearchJobs.size());
-
-            // Merge, deduplicating by unique key
-            Map<String, JobDTO> allJobsMap = new LinkedHashMap<>();
-            for (JobDTO j : opportunityJobs) {
-                if (j.getId() != null) allJobsMap.put("opp_" + j.getId(), j);
-            }
-            for (JobDTO j : jobSearchJobs) {
-                if (j.getJobId() != null) allJobsMap.putIfAbsent("job_" + j.getJobId(), j);
-            }
-
-            // ✅ Apply to ALL jobs — no keyword filtering
-            List<JobDTO> allJobs = new ArrayList<>(allJobsMap.values());
-            log.info("Total unique jobs to apply: {} ({} opportunity + {} job_search)",
-                    allJobs.size(), opportunityJobs.size(), jobSearchJobs.size());
-
-            int appliedCount = 0;
-            int skippedCount = 0;
-
-            for (JobDTO job : allJobs) {
-                try {
-                    // Unique key per source
-                    String uniqueKey = "opportunity".equals(job.getSource())
-                            ? "opp_" + job.getId()
-                            : "job_" + job.getJobId();
-
-                    if (appliedJobIds.contains(uniqueKey)) {
-                        log.info("⏭️ Skipping already applied: {}", job.getTitle());
-                        skippedCount++;
-                        continue;
+            RunCheckpoint checkpoint = checkpointStore.open();
+            InstahyreConfig.CrawlConfig crawl = config.getCrawl();
+            SpillingJobQueue allJobs = new SpillingJobQueue(Path.of(crawl.getSpillDir()), crawl.getMemoryBudget(), 2);
+            boolean completed = false;
+            try (allJobs) {
+                // Scrape both sources concurrently — both are blocking HTTP loops
+                // (resumed runs only fetch what the checkpoint does not already have).
+                // Pages go straight into the queue, deduplicated by unique key, and
+                // applying starts with the first page rather than after the last one.
+                Set<String> seenKeys = ConcurrentHashMap.newKeySet();
+                Future<Integer> opportunityTask = scope.fork(() -> scrapeFromCheckpoint(checkpoint, "candidate_opportunity", allJobs, seenKeys));
+                Future<Integer> jobSearchTask = scope.fork(() -> scrapeFromCheckpoint(checkpoint, "job_search", allJobs, seenKeys));
+
+                // ✅ Apply to ALL jobs unless keyword-filter is switched on
+                int appliedCount = 0;
+                int skippedCount = 0;
+                int failedCount = 0;
+                boolean stoppedEarly = false;
+
+                for (JobDTO job; (job = allJobs.take()) != null; ) {
+                    if (scope.isCancelled()) {
+                        log.warn("Run cancelled - stopping before: {}", job.getTitle());
+                        stoppedEarly = true;
+                        break;
                     }
-
-                    boolean success = scraperService.applyToJob(job);
-
-                    if (success) {
-                        appliedCount++;
-                        job.setApplied(true);
-                        appliedJobs.add(job);
-                        appliedJobIds.add(uniqueKey);
-                        log.info("✅ Applied to: {} [{}] (Total: {})",
-                                job.getTitle(), job.getSource(), appliedCount);
-                    } else {
-                        log.warn("❌ Failed to apply to: {}", job.getTitle());
+                    if (scope.failure() != null) {
+                        log.warn("Scrape failed - stopping before: {}", job.getTitle());
+                        stoppedEarly = true;
+                        break;
+                    }
+                    if (!session.isValid()) {
+                        log.warn("⏸️ Session expired ({}) - pausing run before: {}",
+                                session.getExpiredReason(), job.getTitle());
+                        stoppedEarly = true;
+                        break;
                     }
+                    try {
+                        String uniqueKey = uniqueKey(job);
+
+                        // Read once per job, so a config swap takes effect between jobs
+                        TargetingSnapshot targeting = targetingService.current();
+                        if (targeting.keywordFilter() && !matchesKeywords(job, targeting)) {
+                            skippedCount++;
+                            eventBus.publish("skipped", uniqueKey, job, "no keyword match (targeting v" + targeting.version() + ")");
+                            continue;
+                        }
+
+                        if (checkpoint.isProcessed(uniqueKey)) {
+                            log.info("⏭️ Already processed earlier in this run: {}", job.getTitle());
+                            skippedCount++;
+                            eventBus.publish("skipped", uniqueKey, job, "processed earlier in this run");
+                            continue;
+                        }
+
+                        // Claim before applying so no other instance applies to the same job
+                        if (!coordinator.claim(uniqueKey)) {
+                            log.info("⏭️ Skipping already applied or claimed: {}", job.getTitle());
+                            skippedCount++;
+                            eventBus.publish("skipped", uniqueKey, job, "already applied or claimed");
+                            continue;
+                        }
+
+                        ApplyResult result = scraperService.applyToJob(job);
+
+                        if (result.outcome() == ApplyResult.Outcome.SESSION_EXPIRED) {
+                            coordinator.release(uniqueKey);
+                            log.warn("⏸️ Session rejected while applying to: {}", job.getTitle());
+                            stoppedEarly = true;
+                            break;
+                        }
+                        if (RunCheckpointStore.isSettled(result.outcome())) {
+                            checkpointStore.recordOutcome(uniqueKey, result.outcome()); // failures are retried on resume
+                        }
+                        analytics.recordApply(job, result);
+
+                        if (result.isApplied()) {
+                            appliedCount++;
+                            job.setApplied(true);
+                            appliedJobs.add(job);
+                            coordinator.markApplied(uniqueKey);
+                            eventBus.publish("applied", uniqueKey, job, "HTTP " + result.httpStatus());
+                            log.info("✅ Applied to: {} [{}] (Total: {})",
+                                    job.getTitle(), job.getSource(), appliedCount);
+                        } else if (result.outcome() == ApplyResult.Outcome.ALREADY_APPLIED) {
+                            skippedCount++;
+                            coordinator.markApplied(uniqueKey);
+                            eventBus.publish("skipped", uniqueKey, job, "already applied on Instahyre");
+                        } else {
+                            failedCount++;
+                            coordinator.release(uniqueKey);
+                            eventBus.publish("failed", uniqueKey, job, "HTTP " + result.httpStatus());
+                            log.warn("❌ Failed to apply to: {}", job.getTitle());
+                        }
+
+                        WaitEvent.sleep("between applies", config.getPacing().getApplyDelayMs());
+
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        log.warn("Interrupted while processing: {}", job.getTitle());
+                        stoppedEarly = true;
+                        break;
+                    } catch (Exception e) {
+                        log.error("Error processing job: {}", job.getTitle(), e);
+                        eventBus.publish("failed", uniqueKey(job), job, e.getMessage());
+                    }
+                }
 
-                    Thread.sleep(3000);
+                if (!stoppedEarly || scope.failure() != null) {
+                    // Both crawls are done by now; this surfaces a crawl or spill failure
+                    int opportunityCount = opportunityTask.get();
+                    int jobSearchCount = jobSearchTask.get();
+                    log.info("Scraped {} opportunity + {} job_search jobs, {} unique ({} spilled to disk)",
+                            opportunityCount, jobSearchCount, allJobs.size(), allJobs.spilledCount());
+                }
 
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    log.warn("Interrupted while processing: {}", job.getTitle());
-                    break;
-                } catch (Exception e) {
-                    log.error("Error processing job: {}", job.getTitle(), e);
+                log.info("✅ Done - Total: {}, Applied: {}, Skipped: {}, Failed: {}",
+                        allJobs.size(), appliedCount, skippedCount, failedCount);
+                completed = !stoppedEarly && session.isValid(); // a scrape cut short by expiry is unfinished too
+            } finally {
+                if (completed) {
+                    checkpointStore.complete();
+                } else {
+                    checkpointStore.suspend();
                 }
+                analytics.flush();
             }
 
-            log.info("✅ Done - Total: {}, Applied: {}, Skipped: {}",
-                    allJobs.size(), appliedCount, skippedCount);
-
+        } catch (InterruptedException | CancellationException e) {
+            if (scope.failure() != null) {
+                log.error("Auto applier failed while scraping", scope.failure());
+            } else {
+                if (!scope.isCancelled()) {
+                    Thread.currentThread().interrupt(); // not ours to swallow
+                }
+                log.warn("Auto applier run cancelled");
+            }
+        } catch (ExecutionException e) {
+            log.error("Auto applier failed while scraping", e.getCause());
         } catch (Exception e) {
             log.error("Auto applier failed", e);
+        } finally {
+            currentRun.compareAndSet(scope, null);
         }
 
         return appliedJobs;
     }
 
-    private boolean matchesKeywords(JobDTO job) {
-        if (job.getSkills() == null || job.getSkills().isEmpty()) {
+    /**
+     * Cancel the run in progress, interrupting any scrape or wait it is blocked in.
+     */
+    public boolean cancelCurrentRun() {
+        RunScope scope = currentRun.get();
+        if (scope == null) {
+            return false;
+        }
+        scope.cancel();
+        log.info("Cancellation requested for current run");
+        return true;
+    }
+
+    // Jobs already journaled for this endpoint, plus a crawl from its saved cursor unless it finished
+    private int scrapeFromCheckpoint(RunCheckpoint checkpoint, String endpoint,
+                                     SpillingJobQueue queue, Set<String> seenKeys) throws IOException, InterruptedException {
+        try {
+            return crawlFromCheckpoint(checkpoint, endpoint, queue, seenKeys);
+        } finally {
+            queue.producerDone();
+        }
+    }
+
+    private int crawlFromCheckpoint(RunCheckpoint checkpoint, String endpoint,
+                                    SpillingJobQueue queue, Set<String> seenKeys) throws IOException, InterruptedException {
+        List<JobDTO> journaled = checkpoint.takeJobs(endpoint);
+        enqueue(endpoint, journaled, queue, seenKeys);
+        if (checkpoint.isFinished(endpoint)) {
+            log.info("♻️ {} already fully scraped in this run ({} jobs)", endpoint, journaled.size());
+            return journaled.size();
+        }
+
+        int offset = checkpoint.offset(endpoint);
+        if (offset > 0) {
+            log.info("♻️ Resuming {} at offset {} ({} jobs from checkpoint)", endpoint, offset, journaled.size());
+        }
+        PageListener listener = (ep, nextOffset, pageJobs, finished) -> {
+            checkpointStore.recordPage(ep, nextOffset, pageJobs, finished);
+            for (JobDTO job : pageJobs) {
+                eventBus.publish("new-job", uniqueKey(job), job, ep);
+                analytics.recordScrape(job);
+            }
+            try {
+                enqueue(ep, pageJobs, queue, seenKeys);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        return journaled.size() + ("job_search".equals(endpoint)
+                ? scraperService.crawlJobSearch(offset, listener)
+                : scraperService.crawlJobs(offset, listener));
+    }
+
+    // Same keys the merge always used: opportunities by id, job_search results by jobId
+    static void enqueue(String endpoint, List<JobDTO> jobs,
+                        SpillingJobQueue queue, Set<String> seenKeys) throws IOException {
+        boolean opportunities = "candidate_opportunity".equals(endpoint);
+        for (JobDTO job : jobs) {
+            String key = opportunities
+                    ? (job.getId() != null ? "opp_" + job.getId() : null)
+                    : (job.getJobId() != null ? "job_" + job.getJobId() : null);
+            if (key != null && seenKeys.add(key)) {
+                queue.add(job);
+            }
+        }
+    }
+
+    // Unique key per source
+    private static String uniqueKey(JobDTO job) {
+        return "opportunity".equals(job.getSource())
+                ? "opp_" + job.getId()
+                : "job_" + job.getJobId();
+    }
+
+    private ThreadFactory runThreadFactory() {
+        return virtualThreads
+                ? Thread.ofVirtual().name("applier-run-", 0).factory()
+                : Thread.ofPlatform().name("applier-run-", 0).factory();
+    }
+
+    private boolean matchesKeywords(JobDTO job, TargetingSnapshot targeting) {
+        if (job.getSkillSet() == null || job.getSkillSet().isEmpty()) {
             log.debug("Job {} has no skills listed", job.getTitle());
             return false;
         }
 
-        List<String> keywords = config.getKeywords();
-        if (keywords == null || keywords.isEmpty()) {
+        KeywordMatcher matcher = targeting.matcher();
+        if (matcher.isEmpty()) {
             log.warn("No keywords configured in application.yml");
             return false;
         }
 
-        boolean matches = job.getSkills().stream().anyMatch(skill ->
-                keywords.stream().anyMatch(keyword ->
-                        skill.toLowerCase().contains(keyword.toLowerCase())
-                )
-        );
-
+        boolean matches = matcher.matches(job);
         if (matches) {
-            List<String> matchedKeywords = job.getSkills().stream()
-                    .filter(skill -> keywords.stream().anyMatch(keyword ->
-                            skill.toLowerCase().contains(keyword.toLowerCase())
-                    ))
-                    .toList();
-            log.debug("Matched keywords for {}: {}", job.getTitle(), matchedKeywords);
+            log.debug("Matched keywords for {}: {}", job.getTitle(), matcher.matchedSkills(job));
         }
 
         return matches;
     }
 
     public void clearAppliedJobs() {
-        appliedJobIds.clear();
+        coordinator.clearApplied();
         log.info("Cleared applied jobs history");
     }
 
     public int getAppliedJobsCount() {
-        return appliedJobIds.size();
+        return coordinator.appliedCount();
     }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.example.demo.service;
+
+import com.example.demo.config.InstahyreConfig;
+import com.example.demo.dto.JobDTO;
+import com.example.demo.dto.TokenDictionary;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Turns one listing endpoint's JSON into {@link JobDTO}s using the paths configured
+ * for it. Each field has a list of JSON pointers tried in order, compiled once.
+ * A field that none of them resolves counts as a miss for that field, so layout
+ * drift shows up in the counters instead of as per-item parse failures.
+ */
+public final class FieldExtractor {
+
+    public enum Field {ITEMS, ID, COMPANY, TITLE, KEYWORDS}
+
+    private final String endpoint;
+    private final JsonPointer[][] paths = new JsonPointer[Field.values().length][];
+    private final LongAdder[] misses = new LongAdder[Field.values().length];
+    private final LongAdder items = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    /**
+     * @throws IllegalArgumentException if a path is not a valid JSON pointer or a field has none
+     */
+    FieldExtractor(String endpoint, InstahyreConfig.FieldPaths spec) {
+        this.endpoint = endpoint;
+        compile(Field.ITEMS, spec.getItems());
+        compile(Field.ID, spec.getId());
+        compile(Field.COMPANY, spec.getCompany());
+        compile(Field.TITLE, spec.getTitle());
+        compile(Field.KEYWORDS, spec.getKeywords());
+        for (int i = 0; i < misses.length; i++) misses[i] = new LongAdder();
+    }
+
+    private void compile(Field field, List<String> specs) {
+        if (specs == null || specs.isEmpty()) {
+            throw new IllegalArgumentException("No paths configured for " + endpoint + "." + field.name().toLowerCase());
+        }
+        paths[field.ordinal()] = specs.stream().map(JsonPointer::compile).toArray(JsonPointer[]::new);
+    }
+
+    /**
+     * The array of listing items in a response; empty if none of the paths resolve.
+     */
+    public JsonNode items(JsonNode root) {
+        JsonNode node = resolve(root, Field.ITEMS);
+        return node.isArray() ? node : MissingNode.getInstance();
+    }
+
+    /**
+     * Build a job from one listing item, or null if its id, company or title is missing.
+     * Opportunities carry their id in {@code id}, job_search results in {@code jobId}.
+     */
+    public JobDTO toJob(JsonNode item) {
+        items.increment();
+        String id = text(item, Field.ID);
+        String company = text(item, Field.COMPANY);
+        String title = text(item, Field.TITLE);
+        if (id == null || company == null || title == null) {
+            skipped.increment();
+            return null;
+        }
+
+        BitSet skills = new BitSet();
+        for (JsonNode kw : resolve(item, Field.KEYWORDS)) {
+            skills.set(TokenDictionary.SKILLS.idOf(kw.asText()));
+        }
+
+        JobDTO.JobDTOBuilder job = JobDTO.builder()
+                .role(title)
+                .company(company)
+                .skillSet(skills);
+        return "job_search".equals(endpoint)
+                ? job.jobId(id).source("job_search").build()
+                : job.id(id).source("opportunity").build();
+    }
+
+    public long skippedCount() {
+        return skipped.sum();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Long> fieldMisses = new LinkedHashMap<>();
+        for (Field field : Field.values()) {
+            fieldMisses.put(field.name().toLowerCase(), misses[field.ordinal()].sum());
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("items", items.sum());
+        stats.put("skipped", skipped.sum());
+        stats.put("misses", fieldMisses);
+        return stats;
+    }
+
+    private String text(JsonNode item, Field field) {
+        JsonNode node = resolve(item, field);
+        return node.isMissingNode() ? null : node.asText();
+    }
+
+    // First path that leads to a usable value; a miss is counted when none does
+    private JsonNode resolve(JsonNode node, Field field) {
+        for (JsonPointer path : paths[field.ordinal()]) {
+            JsonNode value = node.at(path);
+            if (!value.isMissingNode() && !value.isNull() && !(value.isTextual() && value.asText().isEmpty())) {
+                return value;
+            }
+        }
+        misses[field.ordinal()].increment();
+        return MissingNode.getInstance();
+    }
+}
@@ -1,44 +1,76 @@
 package com.example.demo.service;
 
 import com.example.demo.config.InstahyreConfig;
+import com.example.demo.dto.ApplyResult;
 import com.example.demo.dto.JobDTO;
+import com.example.demo.profiling.*;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.bonigarcia.wdm.WebDriverManager;
-import lombok.Getter;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.*;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.File;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Lazy // Selenium is only loaded once something actually needs the browser
 @RequiredArgsConstructor
 @Slf4j
 public class InstahyreScraperService {
 
     private final InstahyreConfig config;
-    @Getter
-    private WebDriver driver;
-    private boolean isLoggedIn = false;
+    private final InstahyreSession session;
+    private final AdaptivePager pager;
+    private final TargetingService targetingService;
+    private final JobExtractors extractors;
+    private final RequestTemplates templates;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final RestTemplate restTemplate = new RestTemplate(); // ✅ used with raw URIs, avoids double-encoding of %2F etc.
+    // Every use of the browser, start-up and login included, holds this lock: WebDriver is not thread-safe
+    private final ReentrantLock driverLock = new ReentrantLock();
+    private RestClient applyClient;
+    private WebDriver driver; // guarded by driverLock
+
+    @PostConstruct
+    void initClients() {
+        applyClient = RestClient.builder().baseUrl(config.getBaseUrl()).build();
+    }
 
     public void initDriver() {
+        driverLock.lock();
+        try {
+            startDriver();
+        } finally {
+            driverLock.unlock();
+        }
+    }
+
+    private void startDriver() {
         if (driver == null) {
+            DriverInitEvent event = new DriverInitEvent();
+            event.begin();
             try {
-                WebDriverManager.chromedriver().setup();
                 ChromeOptions options = new ChromeOptions();
                 options.addArguments("--headless");
                 options.addArguments("--no-sandbox");
@@ -50,19 +82,64 @@ public class InstahyreScraperService {
                 options.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
                 options.setExperimentalOption("useAutomationExtension", false);
 
-                driver = new ChromeDriver(options);
+                driver = new ChromeDriver(chromeDriverService(), options);
                 ((ChromeDriver) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
                         Map.of("source", "Object.defineProperty(navigator, 'webdriver', {get: () => undefined})"));
 
                 log.info("WebDriver initialized successfully");
+                event.success = true;
             } catch (Exception e) {
                 log.error("Failed to initialize WebDriver", e);
                 throw new RuntimeException("WebDriver initialization failed", e);
+            } finally {
+                String driverPath = config.getDriver().getChromedriverPath();
+                event.localDriver = driverPath != null && !driverPath.isBlank();
+                event.commit();
             }
         }
     }
 
+    /**
+     * Run {@code action} against the shared browser, starting it if needed. Callers are
+     * serialized with each other and with login, since WebDriver is not thread-safe.
+     */
+    public <T> T withDriver(Function<WebDriver, T> action) {
+        driverLock.lock();
+        try {
+            startDriver();
+            return action.apply(driver);
+        } finally {
+            driverLock.unlock();
+        }
+    }
+
+    // ── Use the configured local chromedriver; only fall back to WebDriverManager (network) without one
+    private ChromeDriverService chromeDriverService() {
+        String driverPath = config.getDriver().getChromedriverPath();
+        if (driverPath != null && !driverPath.isBlank()) {
+            log.info("Using local chromedriver: {}", driverPath);
+            return new ChromeDriverService.Builder().usingDriverExecutable(new File(driverPath)).build();
+        }
+        WebDriverManager.chromedriver().setup();
+        return ChromeDriverService.createDefaultService();
+    }
+
+    /**
+     * Start the browser if needed and log in with the given cookies, holding the browser throughout.
+     */
     public void loginWithManualCookies(String sessionId, String csrfToken) {
+        driverLock.lock();
+        try {
+            startDriver();
+            login(sessionId, csrfToken);
+        } finally {
+            driverLock.unlock();
+        }
+    }
+
+    private void login(String sessionId, String csrfToken) {
+        LoginEvent event = new LoginEvent();
+        event.begin();
         try {
             log.info("=== COOKIE-BASED LOGIN START ===");
             log.info("SessionID length: {}", sessionId != null ? sessionId.length() : 0);
@@ -77,8 +154,8 @@ public class InstahyreScraperService {
             }
 
             log.info("Navigating to Instahyre homepage...");
-            driver.get("https://www.instahyre.com");
-            Thread.sleep(2000);
+            driver.get(config.getBaseUrl());
+            WaitEvent.sleep("login: homepage load", 2000);
             log.info("Current URL: {}", driver.getCurrentUrl());
 
             log.info("Adding sessionid cookie...");
@@ -95,14 +172,15 @@ public class InstahyreScraperService {
 
             log.info("Refreshing page to apply cookies...");
             driver.navigate().refresh();
-            Thread.sleep(3000);
+            WaitEvent.sleep("login: refresh with cookies", 3000);
             takeScreenshot("cookie-after-refresh");
 
             log.info("Navigating to opportunities page to verify login...");
-            driver.get("https://www.instahyre.com/candidate/opportunities");
-            Thread.sleep(3000);
+            driver.get(config.getBaseUrl() + "/candidate/opportunities");
+            WaitEvent.sleep("login: opportunities page load", 3000);
 
             String currentUrl = driver.getCurrentUrl();
+            event.finalUrl = currentUrl;
             log.info("Current URL after navigation: {}", currentUrl);
             takeScreenshot("cookie-login-result");
 
@@ -112,12 +190,12 @@ public class InstahyreScraperService {
             }
 
             if (currentUrl.contains("opportunities") || currentUrl.contains("candidate")) {
-                isLoggedIn = true;
+                session.establish(getCookieMap());
                 log.info("✅ Cookie-based login successful!");
                 log.info("Page title: {}", driver.getTitle());
             } else {
                 if (!currentUrl.contains("login")) {
-                    isLoggedIn = true;
+                        session.establish(getCookieMap());
                     log.info("✅ Appears to be logged in (not on login page)");
                 } else {
                     throw new RuntimeException("Cookie-based login failed - unexpected redirect");
@@ -125,11 +203,14 @@ public class InstahyreScraperService {
             }
 
             log.info("=== COOKIE-BASED LOGIN END ===");
+            event.success = true;
 
         } catch (Exception e) {
             log.error("❌ Cookie-based login failed", e);
             takeScreenshot("cookie-login-error");
             throw new RuntimeException("Cookie-based login failed: " + e.getMessage(), e);
+        } finally {
+            event.commit();
         }
     }
 
@@ -148,387 +229,370 @@ public class InstahyreScraperService {
         }
     }
 
-    // ── Helper to build common HttpHeaders ──────────────────────────────────
-    private HttpHeaders buildHeaders(String cookieHeader, String csrfToken) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Cookie", cookieHeader);
-        headers.set("x-csrftoken", csrfToken);
-        headers.set("accept", "application/json, text/plain, */*");
-        headers.set("user-agent", "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/145.0.0.0 Safari/537.36");
-        headers.set("referer", "https://www.instahyre.com/candidate/opportunities/?matching=true");
-        headers.set("origin", "https://www.instahyre.com");
-        return headers;
-    }
-
     // ── Helper to get cookie map from driver ─────────────────────────────────
     private Map<String, String> getCookieMap() {
         return driver.manage().getCookies().stream()
                 .collect(Collectors.toMap(Cookie::getName, Cookie::getValue));
     }
 
-    // ── Helper to build cookie header string ─────────────────────────────────
-    private String buildCookieHeader(Map<String, String> cookieMap) {
-        return cookieMap.entrySet().stream()
-                .map(e -> e.getKey() + "=" + e.getValue())
-                .collect(Collectors.joining("; "));
+    // ── Helper to GET a listing page; null once the session is no longer accepted
+    private String fetchListing(String fullUrl) throws Exception {
+        ResponseEntity<String> response;
+        try {
+            response = restTemplate.exchange(
+                    new URI(fullUrl), // ✅ raw URI, no re-encoding
+                    HttpMethod.GET,
+                    new HttpEntity<>(templates.listingHeaders()), // cached until a cookie rotates
+                    String.class
+            );
+        } catch (HttpStatusCodeException e) {
+            if (session.isAuthFailure(e.getStatusCode(), e.getResponseHeaders())) {
+                session.expire("listing returned " + e.getStatusCode().value());
+                return null;
+            }
+            throw e;
+        }
+
+        session.absorb(response.getHeaders());
+        String json = response.getBody();
+        if (json != null && json.stripLeading().startsWith("<")) {
+            session.expire("listing was redirected to the login page");
+            return null;
+        }
+        return json;
+    }
+
+    public List<JobDTO> scrapeJobs() throws InterruptedException {
+        return scrapeJobs(0, PageListener.NONE);
+    }
+
+    /**
+     * Scrape candidate_opportunity starting at {@code startOffset}, reporting each page to {@code listener}.
+     */
+    public List<JobDTO> scrapeJobs(int startOffset, PageListener listener) throws InterruptedException {
+        List<JobDTO> allJobs = new ArrayList<>();
+        crawlJobs(startOffset, collectingInto(allJobs, listener));
+        return allJobs;
     }
 
-    public List<JobDTO> scrapeJobs() {
-        if (!isLoggedIn) {
+    /**
+     * Like {@link #scrapeJobs(int, PageListener)}, but jobs are only handed to the
+     * listener page by page and never accumulated here.
+     *
+     * @return number of jobs parsed
+     * @throws IllegalStateException if a page cannot be fetched or parsed, or the listener fails
+     */
+    public int crawlJobs(int startOffset, PageListener listener) throws InterruptedException {
+        if (!session.isValid()) {
             throw new IllegalStateException("Must be logged in before scraping jobs");
         }
 
+        int total = 0;
         try {
             log.info("=== SCRAPING OPPORTUNITY JOBS ===");
 
-            Map<String, String> cookieMap = getCookieMap();
-            String cookieHeader = buildCookieHeader(cookieMap);
-            String csrfToken = cookieMap.getOrDefault("csrftoken", "");
-
-            // ✅ Use RestTemplate with raw URI to avoid encoding issues
-            RestTemplate restTemplate = new RestTemplate();
-            HttpEntity<String> entity = new HttpEntity<>(buildHeaders(cookieHeader, csrfToken));
-
-            List<JobDTO> allJobs = new ArrayList<>();
-            int offset = 0;
-            int limit = 30;
+            FieldExtractor extractor = extractors.forEndpoint("candidate_opportunity");
+            int offset = startOffset;
             int currentPage = 0;
-            int maxPages = 50; // Configurable max pages to prevent infinite loops
+            int shortPage = 0; // kept per crawl, so another crawl's pages never confirm it
+            int maxJobs = config.getPaging().getMaxJobs(); // cap on total jobs walked, not on pages
             boolean hasMore = true;
 
             while (hasMore) {
-                String fullUrl = "https://www.instahyre.com/api/v1/candidate_opportunity" +
+                int limit = pager.nextLimit("candidate_opportunity");
+                String fullUrl = config.getBaseUrl() + "/api/v1/candidate_opportunity" +
                         "?company_size=&industry_type=&interest_facet=0&job_type=" +
                         "&limit=" + limit + "&location=&offset=" + offset;
 
                 log.info("🔄 [Page {}] Fetching opportunity jobs at offset {}", currentPage + 1, offset);
 
-                ResponseEntity<String> response = restTemplate.exchange(
-                        new URI(fullUrl),
-                        HttpMethod.GET,
-                        entity,
-                        String.class
-                );
-
-                String json = response.getBody();
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(json);
-
-                if (offset == 0) {
+                PageFetchEvent fetch = new PageFetchEvent();
+                fetch.begin();
+                long started = System.nanoTime();
+                String json = fetchListing(fullUrl);
+                long latencyMs = (System.nanoTime() - started) / 1_000_000;
+                fetch.end();
+                fetch.endpoint = "candidate_opportunity";
+                fetch.offset = offset;
+                fetch.limit = limit;
+                fetch.bytes = json != null ? json.length() : 0;
+                fetch.sessionLost = json == null;
+                fetch.commit();
+                if (json == null) {
+                    log.warn("⏸️ Session lost at page {} - stopping opportunity scrape", currentPage + 1);
+                    break;
+                }
+                if (offset == startOffset) {
                     log.info("Response preview: {}",
                             Objects.requireNonNull(json).substring(0, Math.min(300, json.length())));
                 }
 
-                JsonNode jobsNode = root.get("objects");
-                if (jobsNode == null) jobsNode = root.get("results");
-
-                if (jobsNode == null || !jobsNode.isArray() || jobsNode.isEmpty()) {
+                PageParseEvent parse = new PageParseEvent();
+                parse.begin();
+                JsonNode root = mapper.readTree(json);
+                JsonNode jobsNode = extractor.items(root);
+                int returned = jobsNode.size();
+                List<JobDTO> pageJobs = parsePage(extractor, jobsNode, currentPage + 1);
+                parse.end();
+                parse.endpoint = "candidate_opportunity";
+                parse.items = returned;
+                parse.jobs = pageJobs.size();
+                parse.commit();
+
+                pager.record("candidate_opportunity", limit, returned, shortPage, latencyMs, json.length());
+                shortPage = returned < limit ? returned : 0;
+
+                if (returned == 0) {
                     log.info("❌ No more opportunity jobs at page {}", currentPage + 1);
+                    listener.onPage("candidate_opportunity", offset, List.of(), true);
                     break;
                 }
 
-                int pageCount = 0;
-                for (JsonNode opp : jobsNode) {
-                    try {
-                        // ✅ Fields are FLAT — no nested "job" object
-                        String jobId = opp.get("id").asText();
-                        String company = opp.get("employer").get("company_name").asText();
-                        String title = opp.get("title").asText(); // flat, not opp.get("job").get("candidate_title")
-
-                        List<String> skills = new ArrayList<>();
-                        JsonNode keywords = opp.get("keywords"); // flat, not opp.get("job").get("keywords")
-                        if (keywords != null && keywords.isArray()) {
-                            for (JsonNode kw : keywords) skills.add(kw.asText());
-                        }
-
-                        allJobs.add(JobDTO.builder()
-                                .id(null)
-                                .jobId(jobId)
-                                .title(company + " - " + title)
-                                .company(company)
-                                .skills(skills)
-                                .source("job_search")
-                                .build());
-                        pageCount++;
-
-                    } catch (Exception e) {
-                        log.warn("Failed to parse job_search result: {}", e.getMessage());
-                    }
-                }
-
+                total += pageJobs.size();
                 log.info("✅ [Page {}] Fetched {} jobs (total collected: {})",
-                         currentPage + 1, pageCount, allJobs.size());
-
-                // Update pagination state and prepare for next page
-                // MORE AGGRESSIVE: Only stop when we get 0 items on a page
-                if (pageCount == 0) {
-                    log.info("⏹️  Got 0 items - stopping pagination");
-                    hasMore = false;
+                         currentPage + 1, pageJobs.size(), total);
+
+                // Advance by what the server actually returned, so a page capped below
+                // the requested limit loses nothing; only an empty page ends the crawl
+                offset += returned;
+                currentPage++;
+                hasMore = offset < maxJobs;
+                if (hasMore) {
+                    log.info("➡️  Got {} items - checking for more pages...", pageJobs.size());
                 } else {
-                    log.info("➡️  Got {} items - checking for more pages...", pageCount);
-                    offset += limit;
-                    currentPage++;
-                    hasMore = currentPage < maxPages;
-                    if (hasMore) {
-                        Thread.sleep(1000); // Rate limiting between pages
-                    }
+                    log.info("⏹️  Reached max-jobs cap ({}) - stopping pagination", maxJobs);
+                }
+                listener.onPage("candidate_opportunity", offset, pageJobs, !hasMore);
+                if (hasMore) {
+                    WaitEvent.sleep("between listing pages", config.getPacing().getPageDelayMs()); // Rate limiting between pages
                 }
             }
 
-            log.info("✅ Scraped {} opportunity jobs across {} pages", allJobs.size(), currentPage + 1);
-            return allJobs;
+            log.info("✅ Scraped {} opportunity jobs across {} pages", total, currentPage + 1);
 
+        } catch (InterruptedException e) {
+            log.warn("Opportunity scrape interrupted after {} jobs", total);
+            throw e;
         } catch (Exception e) {
             log.error("❌ Error scraping opportunity jobs", e);
-            return new ArrayList<>();
+            throw new IllegalStateException("Opportunity scrape failed: " + e.getMessage(), e);
         }
+        return total;
+    }
+
+    public List<JobDTO> scrapeJobSearch() throws InterruptedException {
+        return scrapeJobSearch(0, PageListener.NONE);
+    }
+
+    /**
+     * Scrape job_search starting at {@code startOffset}, reporting each page to {@code listener}.
+     */
+    public List<JobDTO> scrapeJobSearch(int startOffset, PageListener listener) throws InterruptedException {
+        List<JobDTO> allJobs = new ArrayList<>();
+        crawlJobSearch(startOffset, collectingInto(allJobs, listener));
+        return allJobs;
     }
 
-    public List<JobDTO> scrapeJobSearch() {
-        if (!config.getJobSearch().isEnabled()) {
+    /**
+     * Like {@link #scrapeJobSearch(int, PageListener)}, but jobs are only handed to the
+     * listener page by page and never accumulated here.
+     *
+     * @return number of jobs parsed
+     * @throws IllegalStateException if a page cannot be fetched or parsed, or the listener fails
+     */
+    public int crawlJobSearch(int startOffset, PageListener listener) throws InterruptedException {
+        TargetingSnapshot targeting = targetingService.current();
+        if (!targeting.jobSearchEnabled()) {
             log.info("Job search scraping is disabled");
-            return new ArrayList<>();
+            return 0;
         }
 
+        int total = 0;
         try {
             log.info("=== SCRAPING JOB SEARCH ===");
 
-            Map<String, String> cookieMap = getCookieMap();
-            String cookieHeader = buildCookieHeader(cookieMap);
-            String csrfToken = cookieMap.getOrDefault("csrftoken", "");
-
-            // ✅ Use RestTemplate with raw URI — avoids double-encoding of %2F etc.
-            RestTemplate restTemplate = new RestTemplate();
-            HttpEntity<String> entity = new HttpEntity<>(buildHeaders(cookieHeader, csrfToken));
-
-            // ✅ Exact params from browser — do NOT modify encoding
-            String baseParams = "company_size=0" +
-                    "&jobLocations=Work+From+Home" +
-                    "&jobLocations=North+India" +
-                    "&jobLocations=Delhi+%2F+NCR" +
-                    "&jobLocations=Dubai" +
-                    "&jobLocations=United+Arab+Emirates+(UAE)" +
-                    "&jobLocations=Qatar" +
-                    "&jobLocations=Saudi+Arabia" +
-                    "&jobLocations=Oman" +
-                    "&jobLocations=Anywhere+in+Uttar+Pradesh" +
-                    "&jobLocations=Bangalore" +
-                    "&jobLocations=Hyderabad" +
-                    "&job_functions=10" +
-                    "&job_type=0" +
-                    "&skills=Java" +
-                    "&skills=Data+Structures" +
-                    "&skills=Spring+Boot" +
-                    "&skills=AWS" +
-                    "&skills=J2EE" +
-                    "&skills=MySQL" +
-                    "&skills=Kafka" +
-                    "&skills=Redis" +
-                    "&skills=SQL" +
-                    "&skills=Spring" +
-                    "&skills=Docker" +
-                    "&skills=Kubernetes" +
-                    "&status=0" +
-                    "&years=3";
-
-            List<JobDTO> allJobs = new ArrayList<>();
-            int offset = 0;
-            int limit = 30;
+            // Precompiled from the active targeting config; picked up fresh on every scrape
+            String baseParams = targeting.jobSearchQuery();
+
+            FieldExtractor extractor = extractors.forEndpoint("job_search");
+            int offset = startOffset;
             int currentPage = 0;
-            int maxPages = 50; // Configurable max pages to prevent infinite loops
+            int shortPage = 0; // kept per crawl, so another crawl's pages never confirm it
+            int maxJobs = config.getPaging().getMaxJobs(); // cap on total jobs walked, not on pages
             boolean hasMore = true;
 
             while (hasMore) {
-                String fullUrl = "https://www.instahyre.com/api/v1/job_search?"
+                int limit = pager.nextLimit("job_search");
+                String fullUrl = config.getBaseUrl() + "/api/v1/job_search?"
                         + baseParams + "&limit=" + limit + "&offset=" + offset;
 
                 log.info("🔄 [Page {}] Fetching job_search at offset {}", currentPage + 1, offset);
 
-                ResponseEntity<String> response = restTemplate.exchange(
-                        new URI(fullUrl), // ✅ raw URI, no re-encoding
-                        HttpMethod.GET,
-                        entity,
-                        String.class
-                );
-
-                String json = response.getBody();
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(json);
-
-                if (offset == 0) {
+                PageFetchEvent fetch = new PageFetchEvent();
+                fetch.begin();
+                long started = System.nanoTime();
+                String json = fetchListing(fullUrl);
+                long latencyMs = (System.nanoTime() - started) / 1_000_000;
+                fetch.end();
+                fetch.endpoint = "job_search";
+                fetch.offset = offset;
+                fetch.limit = limit;
+                fetch.bytes = json != null ? json.length() : 0;
+                fetch.sessionLost = json == null;
+                fetch.commit();
+                if (json == null) {
+                    log.warn("⏸️ Session lost at page {} - stopping job_search scrape", currentPage + 1);
+                    break;
+                }
+                if (offset == startOffset) {
                     log.info("job_search preview: {}",
                             Objects.requireNonNull(json).substring(0, Math.min(500, json.length())));
                 }
 
-                JsonNode jobsNode = root.get("objects");
-                if (jobsNode == null) jobsNode = root.get("results");
-
-                if (jobsNode == null || !jobsNode.isArray() || jobsNode.isEmpty()) {
+                PageParseEvent parse = new PageParseEvent();
+                parse.begin();
+                JsonNode root = mapper.readTree(json);
+                JsonNode jobsNode = extractor.items(root);
+                int returned = jobsNode.size();
+                List<JobDTO> pageJobs = parsePage(extractor, jobsNode, currentPage + 1);
+                parse.end();
+                parse.endpoint = "job_search";
+                parse.items = returned;
+                parse.jobs = pageJobs.size();
+                parse.commit();
+
+                pager.record("job_search", limit, returned, shortPage, latencyMs, json.length());
+                shortPage = returned < limit ? returned : 0;
+
+                if (returned == 0) {
                     log.info("❌ No more job_search results at page {}", currentPage + 1);
+                    listener.onPage("job_search", offset, List.of(), true);
                     break;
                 }
 
-                int pageCount = 0;
-                for (JsonNode opp : jobsNode) {
-                    try {
-                        // Try to get job ID - could be at top level or nested under "job"
-                        String jobId = null;
-                        if (opp.has("job") && opp.get("job") != null && opp.get("job").has("id")) {
-                            jobId = opp.get("job").get("id").asText();
-                        } else if (opp.has("id")) {
-                            jobId = opp.get("id").asText();
-                        }
-
-                        if (jobId == null) {
-                            log.debug("Skipping job without ID");
-                            continue;
-                        }
-
-                        String company = null;
-                        if (opp.has("employer") && opp.get("employer") != null && opp.get("employer").has("company_name")) {
-                            company = opp.get("employer").get("company_name").asText();
-                        }
-
-                        if (company == null || company.isEmpty()) {
-                            log.debug("Skipping job without company");
-                            continue;
-                        }
-
-                        // Get title - could be at top level or nested
-                        String title = null;
-                        if (opp.has("job") && opp.get("job") != null && opp.get("job").has("candidate_title")) {
-                            title = opp.get("job").get("candidate_title").asText();
-                        } else if (opp.has("title")) {
-                            title = opp.get("title").asText();
-                        }
-
-                        if (title == null || title.isEmpty()) {
-                            log.debug("Skipping job without title");
-                            continue;
-                        }
-
-                        List<String> skills = new ArrayList<>();
-                        JsonNode keywords = null;
-                        if (opp.has("job") && opp.get("job") != null && opp.get("job").has("keywords")) {
-                            keywords = opp.get("job").get("keywords");
-                        } else if (opp.has("keywords")) {
-                            keywords = opp.get("keywords");
-                        }
-
-                        if (keywords != null && keywords.isArray()) {
-                            for (JsonNode kw : keywords) skills.add(kw.asText());
-                        }
-
-                        allJobs.add(JobDTO.builder()
-                                .id(null)
-                                .jobId(jobId)
-                                .title(company + " - " + title)
-                                .company(company)
-                                .skills(skills)
-                                .source("job_search")
-                                .build());
-                        pageCount++;
-
-                    } catch (Exception e) {
-                        log.warn("Failed to parse job_search result: {}", e.getMessage());
-                    }
-                }
-
+                total += pageJobs.size();
                 log.info("✅ [Page {}] Fetched {} jobs (total collected: {})",
-                         currentPage + 1, pageCount, allJobs.size());
-
-                // Update pagination state and prepare for next page
-                // MORE AGGRESSIVE: Only stop when we get 0 items on a page
-                if (pageCount == 0) {
-                    log.info("⏹️  Got 0 items - stopping pagination");
-                    hasMore = false;
+                         currentPage + 1, pageJobs.size(), total);
+
+                // Advance by what the server actually returned, so a page capped below
+                // the requested limit loses nothing; only an empty page ends the crawl
+                offset += returned;
+                currentPage++;
+                hasMore = offset < maxJobs;
+                if (hasMore) {
+                    log.info("➡️  Got {} items - checking for more pages...", pageJobs.size());
                 } else {
-                    log.info("➡️  Got {} items - checking for more pages...", pageCount);
-                    offset += limit;
-                    currentPage++;
-                    hasMore = currentPage < maxPages;
-                    if (hasMore) {
-                        Thread.sleep(1000); // Rate limiting between pages
-                    }
+                    log.info("⏹️  Reached max-jobs cap ({}) - stopping pagination", maxJobs);
+                }
+                listener.onPage("job_search", offset, pageJobs, !hasMore);
+                if (hasMore) {
+                    WaitEvent.sleep("between listing pages", config.getPacing().getPageDelayMs()); // Rate limiting between pages
                 }
             }
 
-            log.info("✅ job_search scraped {} total jobs across {} pages", allJobs.size(), currentPage + 1);
-            return allJobs;
+            log.info("✅ job_search scraped {} total jobs across {} pages", total, currentPage + 1);
 
+        } catch (InterruptedException e) {
+            log.warn("job_search scrape interrupted after {} jobs", total);
+            throw e;
         } catch (Exception e) {
             log.error("❌ Error in scrapeJobSearch", e);
-            return new ArrayList<>();
+            throw new IllegalStateException("job_search scrape failed: " + e.getMessage(), e);
         }
+        return total;
     }
 
-    public boolean applyToJob(JobDTO job) {
-        try {
-            log.info("Attempting to apply: {} (source: {})", job.getTitle(), job.getSource());
+    // Items missing a required field are dropped; one warning per page instead of one per item
+    private List<JobDTO> parsePage(FieldExtractor extractor, JsonNode items, int page) {
+        List<JobDTO> jobs = new ArrayList<>(items.size());
+        for (JsonNode item : items) {
+            JobDTO job = extractor.toJob(item);
+            if (job != null) jobs.add(job);
+        }
+        int skipped = items.size() - jobs.size();
+        if (skipped > 0) {
+            log.warn("⚠️ [Page {}] Skipped {} of {} items with missing fields - misses so far: {}",
+                    page, skipped, items.size(), extractor.stats().get("misses"));
+        }
+        return jobs;
+    }
 
-            Map<String, String> cookieMap = getCookieMap();
-            String cookieHeader = buildCookieHeader(cookieMap);
-            String csrfToken = cookieMap.getOrDefault("csrftoken", "");
+    private static PageListener collectingInto(List<JobDTO> jobs, PageListener listener) {
+        return (endpoint, nextOffset, pageJobs, finished) -> {
+            jobs.addAll(pageJobs);
+            listener.onPage(endpoint, nextOffset, pageJobs, finished);
+        };
+    }
 
-            // Build payload based on source
-            Map<String, Object> body = new HashMap<>();
-            body.put("is_interested", true);
-            body.put("is_activity_page_job", false);
+    public ApplyResult applyToJob(JobDTO job) {
+        ApplyEvent event = new ApplyEvent();
+        event.begin();
+        ApplyResult result = apply(job);
+        event.source = job.getSource();
+        event.jobKey = "opportunity".equals(job.getSource()) ? job.getId() : job.getJobId();
+        event.outcome = result.outcome().name();
+        event.httpStatus = result.httpStatus();
+        event.commit();
+        return result;
+    }
 
-            if ("job_search".equals(job.getSource())) {
-                body.put("id", null);
-                body.put("job_id", Long.parseLong(job.getJobId()));
-            } else {
-                body.put("id", job.getId());
-            }
+    private ApplyResult apply(JobDTO job) {
+        try {
+            log.info("Attempting to apply: {} (source: {})", job.getTitle(), job.getSource());
+
+            // Payload from the pre-serialized template for this source, only the id patched in
+            byte[] body = templates.applyBody(job);
 
-            log.info("Payload: {}", body);
+            log.info("Payload: {}", new String(body, StandardCharsets.UTF_8));
 
             // ✅ Use RestClient for POST (no encoding issue with POST body)
-            RestClient restClient = RestClient.builder()
-                    .baseUrl("https://www.instahyre.com")
-                    .defaultHeader("Cookie", cookieHeader)
-                    .defaultHeader("x-csrftoken", csrfToken)
-                    .defaultHeader("accept", "application/json, text/plain, */*")
-                    .defaultHeader("content-type", "application/json")
-                    .defaultHeader("origin", "https://www.instahyre.com")
-                    .defaultHeader("referer", "https://www.instahyre.com/candidate/opportunities/?matching=true")
-                    .defaultHeader("user-agent", "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/145.0.0.0 Safari/537.36")
-                    .build();
-
-            String response = restClient.post()
+            ResponseEntity<String> response = applyClient.post()
                     .uri("/api/v1/candidate_opportunity/apply")
+                    .headers(headers -> headers.addAll(templates.applyHeaders()))
                     .body(body)
                     .retrieve()
-                    .body(String.class);
+                    .toEntity(String.class);
 
-            log.info("✅ Applied to: {} | Response: {}", job.getTitle(), response);
-            return true;
+            session.absorb(response.getHeaders());
+            if (session.isAuthFailure(response.getStatusCode(), response.getHeaders())) {
+                session.expire("apply was redirected to the login page");
+                return new ApplyResult(ApplyResult.Outcome.SESSION_EXPIRED, response.getStatusCode().value());
+            }
 
-        } catch (org.springframework.web.client.HttpClientErrorException e) {
+            log.info("✅ Applied to: {} | Response: {}", job.getTitle(), response.getBody());
+            return new ApplyResult(ApplyResult.Outcome.APPLIED, response.getStatusCode().value());
+
+        } catch (HttpStatusCodeException e) {
             String responseBody = e.getResponseBodyAsString();
-            if (e.getStatusCode().value() == 400 && responseBody.contains("already applied")) {
+            int status = e.getStatusCode().value();
+            if (status == 400 && responseBody.contains("already applied")) {
                 log.info("⏭️ Already applied to: {}", job.getTitle());
-                return false;
+                return new ApplyResult(ApplyResult.Outcome.ALREADY_APPLIED, status);
+            }
+            if (session.isAuthFailure(e.getStatusCode(), e.getResponseHeaders())) {
+                session.expire("apply returned " + status);
+                return new ApplyResult(ApplyResult.Outcome.SESSION_EXPIRED, status);
             }
             log.error("❌ Failed: {} - {} - {}", job.getTitle(), e.getStatusCode(), responseBody);
-            return false;
+            return new ApplyResult(ApplyResult.Outcome.FAILED, status);
         } catch (Exception e) {
             log.error("❌ Failed: {} - {}", job.getTitle(), e.getMessage());
-            return false;
+            return new ApplyResult(ApplyResult.Outcome.FAILED, 0);
         }
     }
 
     public void closeDriver() {
-        if (driver != null) {
-            try {
+        driverLock.lock();
+        try {
+            if (driver != null) {
                 driver.quit();
                 driver = null;
-                isLoggedIn = false;
                 log.info("WebDriver closed successfully");
-            } catch (Exception e) {
-                log.error("Error closing WebDriver", e);
             }
+        } catch (Exception e) {
+            log.error("Error closing WebDriver", e);
+        } finally {
+            driverLock.unlock();
         }
     }
 }
\ No newline at end of file
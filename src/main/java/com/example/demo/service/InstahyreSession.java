@@ -0,0 +1,135 @@
+package com.example.demo.service;
+
+import com.example.demo.config.InstahyreConfig;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import java.net.HttpCookie;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Authenticated Instahyre session shared by all API calls.
+ * Cookies are captured once from the browser after login and then kept current
+ * from Set-Cookie headers, so requests never have to go back to the WebDriver.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InstahyreSession {
+
+    private static final String USER_AGENT = "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/145.0.0.0 Safari/537.36";
+
+    private final InstahyreConfig config;
+    private final Map<String, String> cookies = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile boolean valid;
+    @Getter
+    private volatile Instant validatedAt;
+    @Getter
+    private volatile String expiredReason;
+
+    public void establish(Map<String, String> browserCookies) {
+        cookies.clear();
+        cookies.putAll(browserCookies);
+        version.incrementAndGet();
+        validatedAt = Instant.now();
+        expiredReason = null;
+        valid = true;
+        log.info("Session established with {} cookies", cookies.size());
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Bumped whenever the cookie set changes, so callers can drop anything derived from it.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    public void expire(String reason) {
+        if (valid) {
+            log.error("❌ Session expired: {}", reason);
+        }
+        valid = false;
+        expiredReason = reason;
+    }
+
+    public void touch() {
+        validatedAt = Instant.now();
+    }
+
+    public String csrfToken() {
+        return cookies.getOrDefault("csrftoken", "");
+    }
+
+    public String cookieHeader() {
+        return cookies.entrySet().stream()
+                .map(e -> e.getKey() + "=" + e.getValue())
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Fresh header set from the current cookies; callers on the request path use
+     * {@link RequestTemplates}, which caches it per {@link #version()}.
+     */
+    public HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Cookie", cookieHeader());
+        headers.set("x-csrftoken", csrfToken());
+        headers.set("accept", "application/json, text/plain, */*");
+        headers.set("user-agent", USER_AGENT);
+        headers.set("referer", config.getBaseUrl() + "/candidate/opportunities/?matching=true");
+        headers.set("origin", config.getBaseUrl());
+        return headers;
+    }
+
+    /**
+     * Pick up rotated cookies (csrftoken, sessionid) from a response.
+     */
+    public void absorb(HttpHeaders responseHeaders) {
+        boolean changed = false;
+        for (String setCookie : responseHeaders.getOrEmpty(HttpHeaders.SET_COOKIE)) {
+            try {
+                for (HttpCookie cookie : HttpCookie.parse(setCookie)) {
+                    if (cookie.hasExpired() || cookie.getValue().isEmpty()) {
+                        changed |= cookies.remove(cookie.getName()) != null;
+                    } else if (!cookie.getValue().equals(cookies.put(cookie.getName(), cookie.getValue()))) {
+                        changed = true;
+                        log.info("🔄 Cookie rotated: {}", cookie.getName());
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                log.debug("Ignoring malformed Set-Cookie: {}", e.getMessage());
+            }
+        }
+        if (changed) {
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * 401/403, or a redirect to the login page, means the cookies are no longer accepted.
+     */
+    public boolean isAuthFailure(HttpStatusCode status, HttpHeaders responseHeaders) {
+        if (status.value() == 401 || status.value() == 403) {
+            return true;
+        }
+        if (status.is3xxRedirection() && responseHeaders != null) {
+            String location = responseHeaders.getFirst(HttpHeaders.LOCATION);
+            return location != null && location.contains("login");
+        }
+        return false;
+    }
+}
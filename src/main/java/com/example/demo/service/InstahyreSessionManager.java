@@ -0,0 +1,109 @@
+package com.example.demo.service;
+
+import com.example.demo.config.InstahyreConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Validates the cookie session once and keeps it alive between runs.
+ * Runs and API calls go through {@link #ensureSession()}, which only drives the
+ * browser when there is no valid session yet.
+ */
+@Service
+@Lazy(false)
+@RequiredArgsConstructor
+@Slf4j
+public class InstahyreSessionManager {
+
+    @Lazy
+    private final InstahyreScraperService scraperService;
+    private final InstahyreSession session;
+    private final RequestTemplates templates;
+    private final InstahyreConfig config;
+    private final RestTemplate restTemplate = new RestTemplate();
+    // Held across a browser login
+    private final ReentrantLock loginLock = new ReentrantLock();
+
+    /**
+     * Log in with the configured cookies unless a validated session is already cached.
+     *
+     * @throws IllegalStateException if cookie-based auth is not configured
+     */
+    public void ensureSession() {
+        if (session.isValid()) {
+            return;
+        }
+        loginLock.lock();
+        try {
+            login();
+        } finally {
+            loginLock.unlock();
+        }
+    }
+
+    private void login() {
+        if (session.isValid()) {
+            return; // another caller logged in while this one waited
+        }
+
+        if (!config.isUseManualCookies()) {
+            throw new IllegalStateException("Automatic login is not supported. Please enable cookie-based authentication in application.yml (set use-manual-cookies: true)");
+        }
+        if (config.getSessionid() == null || config.getCsrftoken() == null) {
+            throw new IllegalStateException("Cookie-based auth enabled but cookies are missing. Please add sessionid and csrftoken to application.yml");
+        }
+
+        if (!config.getSession().isBrowserLogin()) {
+            // The first API call or keep-alive probe tells whether the cookies are still accepted
+            session.establish(Map.of("sessionid", config.getSessionid(), "csrftoken", config.getCsrftoken()));
+            return;
+        }
+        scraperService.loginWithManualCookies(config.getSessionid(), config.getCsrftoken());
+    }
+
+    /**
+     * Lightweight authenticated request that keeps the session warm, picks up
+     * rotated cookies and notices expiry before a run does.
+     */
+    @Scheduled(fixedDelayString = "${instahyre.session.keep-alive-ms:600000}",
+            initialDelayString = "${instahyre.session.keep-alive-ms:600000}")
+    public void keepAlive() {
+        if (!session.isValid()) {
+            return;
+        }
+        try {
+            ResponseEntity<String> response = restTemplate.exchange(
+                    new URI(config.getBaseUrl() + "/api/v1/candidate_opportunity?limit=1&offset=0"), HttpMethod.GET, new HttpEntity<>(templates.listingHeaders()), String.class);
+            session.absorb(response.getHeaders());
+
+            String body = response.getBody();
+            if (session.isAuthFailure(response.getStatusCode(), response.getHeaders())
+                    || (body != null && body.stripLeading().startsWith("<"))) {
+                session.expire("keep-alive probe was redirected to login");
+                return;
+            }
+            session.touch();
+            log.debug("Session keep-alive OK");
+        } catch (HttpStatusCodeException e) {
+            if (session.isAuthFailure(e.getStatusCode(), e.getResponseHeaders())) {
+                session.expire("keep-alive probe returned " + e.getStatusCode().value());
+            } else {
+                log.warn("Keep-alive probe failed: {}", e.getStatusCode());
+            }
+        } catch (Exception e) {
+            log.warn("Keep-alive probe failed: {}", e.getMessage());
+        }
+    }
+}
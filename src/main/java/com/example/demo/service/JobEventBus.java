@@ -0,0 +1,135 @@
+package com.example.demo.service;
+
+import com.example.demo.config.InstahyreConfig;
+import com.example.demo.dto.JobDTO;
+import com.example.demo.dto.JobEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fan-out of pipeline events to Server-Sent Events subscribers.
+ * Publishing only writes into a fixed-size ring buffer, so the pipeline never waits
+ * on a client. Each subscriber drains the ring on its own virtual thread; one that
+ * falls more than a buffer behind gets a "gap" event and continues from the oldest
+ * event still held.
+ */
+@Component
+@Slf4j
+public class JobEventBus {
+
+    private static final long HEARTBEAT_MS = 15000;
+
+    private final JobEvent[] ring;
+    private final long emitterTimeoutMs;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    private long nextId = 1; // guarded by lock
+
+    /**
+     * @throws IllegalArgumentException if instahyre.events.buffer-size is less than 1
+     */
+    public JobEventBus(InstahyreConfig config) {
+        int bufferSize = config.getEvents().getBufferSize();
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("instahyre.events.buffer-size must be at least 1, got " + bufferSize);
+        }
+        this.ring = new JobEvent[bufferSize];
+        this.emitterTimeoutMs = config.getEvents().getEmitterTimeoutMs();
+    }
+
+    public void publish(String type, String jobKey, JobDTO job, String detail) {
+        lock.lock();
+        try {
+            long id = nextId++;
+            ring[(int) (id % ring.length)] = new JobEvent(id, type, Instant.now(),
+                    job.getSource(), jobKey, job.getTitle(), detail);
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stream events to a new subscriber, starting after {@code lastEventId} when given
+     * (and still buffered), otherwise with events published from now on.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        AtomicBoolean open = new AtomicBoolean(true);
+        emitter.onCompletion(() -> open.set(false));
+        emitter.onTimeout(() -> open.set(false));
+        emitter.onError(e -> open.set(false));
+
+        long latest = latestId();
+        long cursor = lastEventId != null ? Math.min(lastEventId, latest) : latest;
+        Thread.ofVirtual().name("sse-subscriber").start(() -> stream(emitter, cursor, open));
+        return emitter;
+    }
+
+    private void stream(SseEmitter emitter, long cursor, AtomicBoolean open) {
+        try {
+            while (open.get()) {
+                List<JobEvent> events = readAfter(cursor, HEARTBEAT_MS);
+                if (events.isEmpty()) {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                    continue;
+                }
+                long first = events.getFirst().id();
+                if (first > cursor + 1) {
+                    emitter.send(SseEmitter.event().name("gap")
+                            .data(Map.of("missedFrom", cursor + 1, "resumedAt", first)));
+                }
+                for (JobEvent event : events) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.id()))
+                            .name(event.type())
+                            .data(event));
+                    cursor = event.id();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("SSE subscriber disconnected: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        }
+    }
+
+    private long latestId() {
+        lock.lock();
+        try {
+            return nextId - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Buffered events after afterId, oldest first; waits up to waitMs when there are none
+    private List<JobEvent> readAfter(long afterId, long waitMs) throws InterruptedException {
+        lock.lock();
+        try {
+            if (afterId >= nextId - 1) {
+                published.await(waitMs, TimeUnit.MILLISECONDS);
+            }
+            long from = Math.max(afterId + 1, Math.max(1, nextId - ring.length));
+            List<JobEvent> events = new ArrayList<>((int) Math.max(0, nextId - from));
+            for (long id = from; id < nextId; id++) {
+                events.add(ring[(int) (id % ring.length)]);
+            }
+            return events;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.demo.service;
+
+import com.example.demo.config.InstahyreConfig;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Field extractors for each listing endpoint, compiled from {@code instahyre.extraction}
+ * at startup; an invalid path fails startup rather than the first scrape.
+ */
+@Component
+public class JobExtractors {
+
+    private final FieldExtractor candidateOpportunity;
+    private final FieldExtractor jobSearch;
+
+    public JobExtractors(InstahyreConfig config) {
+        InstahyreConfig.ExtractionConfig extraction = config.getExtraction();
+        this.candidateOpportunity = new FieldExtractor("candidate_opportunity", extraction.getCandidateOpportunity());
+        this.jobSearch = new FieldExtractor("job_search", extraction.getJobSearch());
+    }
+
+    public FieldExtractor forEndpoint(String endpoint) {
+        return "job_search".equals(endpoint) ? jobSearch : candidateOpportunity;
+    }
+
+    /**
+     * Items seen, items skipped and misses per field, per endpoint, since startup.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("candidate_opportunity", candidateOpportunity.stats());
+        stats.put("job_search", jobSearch.stats());
+        return stats;
+    }
+}
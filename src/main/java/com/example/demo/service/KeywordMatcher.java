@@ -0,0 +1,65 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.JobDTO;
+import com.example.demo.dto.TokenDictionary;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Matches a job's skills against configured keywords with a single bitwise test.
+ * Each skill id in {@link TokenDictionary#SKILLS} is checked against the keywords
+ * once; the result is kept in a mask that grows as new skills are interned.
+ */
+public class KeywordMatcher {
+
+    private final List<String> keywords;
+    // Never modified once published; replaced by an extended copy when new skills appear
+    private volatile Mask mask = new Mask(0, new BitSet());
+
+    /**
+     * Skill ids 1..{@code scanned} checked against the keywords, and those that matched.
+     */
+    private record Mask(int scanned, BitSet bits) {
+    }
+
+    public KeywordMatcher(List<String> keywords) {
+        this.keywords = keywords == null ? List.of() : keywords.stream()
+                .map(String::toLowerCase)
+                .toList();
+    }
+
+    public boolean isEmpty() {
+        return keywords.isEmpty();
+    }
+
+    public boolean matches(JobDTO job) {
+        BitSet skills = job.getSkillSet();
+        return skills != null && skills.intersects(currentMask());
+    }
+
+    public List<String> matchedSkills(JobDTO job) {
+        BitSet matched = (BitSet) job.getSkillSet().clone();
+        matched.and(currentMask());
+        return TokenDictionary.SKILLS.decode(matched);
+    }
+
+    private BitSet currentMask() {
+        Mask current = mask;
+        int size = TokenDictionary.SKILLS.size();
+        if (current.scanned() >= size) {
+            return current.bits();
+        }
+        // Racing threads may both extend it; a stale winner is only extended again on the next call
+        BitSet bits = (BitSet) current.bits().clone();
+        for (int id = current.scanned() + 1; id <= size; id++) {
+            String skill = TokenDictionary.SKILLS.tokenOf(id).toLowerCase();
+            if (keywords.stream().anyMatch(skill::contains)) {
+                bits.set(id);
+            }
+        }
+        Mask extended = new Mask(size, bits);
+        mask = extended;
+        return extended.bits();
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.demo.service;
+
+import com.example.demo.config.InstahyreConfig;
+import com.example.demo.dto.ApplyResult;
+import com.example.demo.dto.JobDTO;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Records every scrape and apply outcome, with pre-aggregated rollups.
+ * Besides the raw event, each outcome adds to hourly and daily counters keyed by
+ * source, company, skill and HTTP status. Reports read only the rollup table, so
+ * query cost depends on the number of buckets, not on how many events happened.
+ * Counts are merged in memory and flushed in batches; a batch that fails to write
+ * is put back and retried on the next flush.
+ */
+@Service
+@Lazy(false)
+@RequiredArgsConstructor
+@Slf4j
+public class OutcomeAnalytics {
+
+    public static final Set<String> GRANULARITIES = Set.of("hour", "day");
+    public static final Set<String> DIMENSIONS = Set.of("source", "company", "skill", "status");
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactions;
+    private final InstahyreConfig config;
+    // Held across the batch writes
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Map<RollupKey, Long> pendingRollups = new ConcurrentHashMap<>();
+    private final Queue<Object[]> pendingEvents = new ConcurrentLinkedQueue<>();
+
+    private record RollupKey(String granularity, Instant bucketStart, String dimension, String value, String outcome) {
+    }
+
+    public record ReportRow(String value, String outcome, long count) {
+    }
+
+    public record TimelineRow(Instant bucketStart, String outcome, long count) {
+    }
+
+    @PostConstruct
+    void initSchema() {
+        if (!config.getAnalytics().isEnabled()) return;
+        jdbc.execute("""
+                CREATE TABLE IF NOT EXISTS outcome_event (
+                    id          BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    occurred_at TIMESTAMP    NOT NULL,
+                    outcome     VARCHAR(32)  NOT NULL,
+                    source      VARCHAR(32)  NOT NULL,
+                    job_key     VARCHAR(64),
+                    company     VARCHAR(255),
+                    http_status INT          NOT NULL
+                )""");
+        jdbc.execute("""
+                CREATE TABLE IF NOT EXISTS outcome_rollup (
+                    granularity  VARCHAR(8)   NOT NULL,
+                    dimension    VARCHAR(16)  NOT NULL,
+                    bucket_start TIMESTAMP    NOT NULL,
+                    dim_value    VARCHAR(255) NOT NULL,
+                    outcome      VARCHAR(32)  NOT NULL,
+                    cnt          BIGINT       NOT NULL,
+                    PRIMARY KEY (granularity, dimension, bucket_start, dim_value, outcome)
+                )""");
+    }
+
+    // Both use the job's source ("opportunity", "job_search"), so scraped and applied counts line up
+    public void recordScrape(JobDTO job) {
+        record(job, "scraped", job.getSource(), 0);
+    }
+
+    public void recordApply(JobDTO job, ApplyResult result) {
+        record(job, result.outcome().name().toLowerCase(), job.getSource(), result.httpStatus());
+    }
+
+    private void record(JobDTO job, String outcome, String source, int httpStatus) {
+        if (!config.getAnalytics().isEnabled()) return;
+
+        Instant now = Instant.now();
+        String company = job.getCompany();
+        pendingEvents.add(new Object[]{Timestamp.from(now), outcome, source,
+                job.getJobId() != null ? job.getJobId() : job.getId(), company, httpStatus});
+
+        List<String> skills = job.getSkills();
+        for (String granularity : GRANULARITIES) {
+            Instant bucket = now.truncatedTo("hour".equals(granularity) ? ChronoUnit.HOURS : ChronoUnit.DAYS);
+            count(granularity, bucket, "source", source, outcome);
+            if (company != null) {
+                count(granularity, bucket, "company", company, outcome);
+            }
+            for (String skill : skills) {
+                count(granularity, bucket, "skill", skill, outcome);
+            }
+            if (httpStatus > 0) {
+                count(granularity, bucket, "status", String.valueOf(httpStatus), outcome);
+            }
+        }
+    }
+
+    private void count(String granularity, Instant bucket, String dimension, String value, String outcome) {
+        pendingRollups.merge(new RollupKey(granularity, bucket, dimension, value, outcome), 1L, Long::sum);
+    }
+
+    @Scheduled(fixedDelayString = "${instahyre.analytics.flush-ms:10000}")
+    public void flush() {
+        if (!config.getAnalytics().isEnabled()) return;
+
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        List<Object[]> events = new ArrayList<>();
+        for (Object[] event; (event = pendingEvents.poll()) != null; ) {
+            events.add(event);
+        }
+
+        Map<RollupKey, Long> deltas = new HashMap<>();
+        List<Object[]> rollups = new ArrayList<>();
+        for (RollupKey key : new ArrayList<>(pendingRollups.keySet())) {
+            Long delta = pendingRollups.remove(key);
+            if (delta != null) {
+                deltas.put(key, delta);
+                rollups.add(new Object[]{key.granularity(), key.dimension(), Timestamp.from(key.bucketStart()),
+                        key.value(), key.outcome(), delta});
+            }
+        }
+        if (events.isEmpty() && rollups.isEmpty()) return;
+
+        try {
+            // One transaction, so a retried batch is never half-written already
+            transactions.executeWithoutResult(status -> writeBatch(events, rollups));
+            log.debug("Flushed {} outcome events / {} rollup deltas", events.size(), rollups.size());
+        } catch (Exception e) {
+            pendingEvents.addAll(events);
+            deltas.forEach((key, delta) -> pendingRollups.merge(key, delta, Long::sum));
+            log.error("Failed to flush outcome analytics ({} events, {} rollup deltas kept for the next flush)",
+                    events.size(), rollups.size(), e);
+        }
+    }
+
+    private void writeBatch(List<Object[]> events, List<Object[]> rollups) {
+        jdbc.batchUpdate("INSERT INTO outcome_event (occurred_at, outcome, source, job_key, company, http_status) VALUES (?, ?, ?, ?, ?, ?)",
+                events);
+        jdbc.batchUpdate("""
+                MERGE INTO outcome_rollup r
+                USING (VALUES (CAST(? AS VARCHAR(8)), CAST(? AS VARCHAR(16)), CAST(? AS TIMESTAMP),
+                               CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(32)), CAST(? AS BIGINT)))
+                      AS v(granularity, dimension, bucket_start, dim_value, outcome, cnt)
+                ON r.granularity = v.granularity AND r.dimension = v.dimension AND r.bucket_start = v.bucket_start
+                   AND r.dim_value = v.dim_value AND r.outcome = v.outcome
+                WHEN MATCHED THEN UPDATE SET cnt = r.cnt + v.cnt
+                WHEN NOT MATCHED THEN INSERT (granularity, dimension, bucket_start, dim_value, outcome, cnt)
+                     VALUES (v.granularity, v.dimension, v.bucket_start, v.dim_value, v.outcome, v.cnt)""",
+                rollups);
+    }
+
+    /**
+     * Totals per dimension value and outcome over [from, to), largest first.
+     */
+    public List<ReportRow> report(String granularity, String dimension, Instant from, Instant to, int limit) {
+        return jdbc.query("""
+                        SELECT dim_value, outcome, SUM(cnt) AS total FROM outcome_rollup
+                        WHERE granularity = ? AND dimension = ? AND bucket_start >= ? AND bucket_start < ?
+                        GROUP BY dim_value, outcome ORDER BY total DESC LIMIT ?""",
+                (rs, i) -> new ReportRow(rs.getString(1), rs.getString(2), rs.getLong(3)),
+                granularity, dimension, Timestamp.from(from), Timestamp.from(to), limit);
+    }
+
+    /**
+     * Outcome counts per bucket over [from, to), read from the per-source rollups.
+     */
+    public List<TimelineRow> timeline(String granularity, Instant from, Instant to) {
+        return jdbc.query("""
+                        SELECT bucket_start, outcome, SUM(cnt) FROM outcome_rollup
+                        WHERE granularity = ? AND dimension = 'source' AND bucket_start >= ? AND bucket_start < ?
+                        GROUP BY bucket_start, outcome ORDER BY bucket_start""",
+                (rs, i) -> new TimelineRow(rs.getTimestamp(1).toInstant(), rs.getString(2), rs.getLong(3)),
+                granularity, Timestamp.from(from), Timestamp.from(to));
+    }
+}
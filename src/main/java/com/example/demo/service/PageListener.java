@@ -0,0 +1,23 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.JobDTO;
+
+import java.util.List;
+
+/**
+ * Receives each listing page as it is scraped, together with the cursor to resume from.
+ */
+@FunctionalInterface
+public interface PageListener {
+
+    PageListener NONE = (endpoint, nextOffset, jobs, finished) -> {
+    };
+
+    /**
+     * @param endpoint   listing endpoint, e.g. "candidate_opportunity" or "job_search"
+     * @param nextOffset offset the next page starts at
+     * @param jobs       jobs parsed from this page (may be empty)
+     * @param finished   true once there are no more pages to fetch
+     */
+    void onPage(String endpoint, int nextOffset, List<JobDTO> jobs, boolean finished);
+}
@@ -0,0 +1,282 @@
+package com.example.demo.service;
+
+import com.example.demo.config.InstahyreConfig;
+import com.example.demo.dto.PageSnapshot;
+import com.example.demo.dto.SnapshotDiff;
+import com.example.demo.dto.SnapshotJob;
+import com.example.demo.profiling.WaitEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Captures structural snapshots of Instahyre pages in the background, replacing the
+ * old blocking login-page inspector. A snapshot fingerprints the page's element
+ * tree and the shape of the listing API responses, is stored on disk, and is
+ * diffed against the last known-good snapshot of the same page so layout drift
+ * is caught before it breaks a run. Snapshots use the shared browser.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PageSnapshotService {
+
+    private static final int MAX_JOBS_KEPT = 50;
+    private static final int MAX_DIFF_ENTRIES = 100;
+
+    // Element paths by tag plus stable attributes; classes are left out as they change with every frontend build
+    private static final String DOM_SKELETON_SCRIPT = """
+            const out = {};
+            const skip = new Set(['script', 'style', 'noscript', 'meta', 'link', 'path']);
+            const walk = (el, parent, depth) => {
+              const tag = el.tagName.toLowerCase();
+              if (skip.has(tag) || depth > 40) return;
+              let sig = tag;
+              for (const a of ['id', 'name', 'type', 'role']) {
+                const v = el.getAttribute(a);
+                if (v) sig += '[' + a + '=' + v + ']';
+              }
+              const path = parent ? parent + '>' + sig : sig;
+              out[path] = (out[path] || 0) + 1;
+              for (const child of el.children) walk(child, path, depth + 1);
+            };
+            walk(document.documentElement, '', 0);
+            return out;""";
+
+    @Lazy
+    private final InstahyreScraperService scraperService;
+    private final InstahyreSession session;
+    private final RequestTemplates templates;
+    private final TargetingService targetingService;
+    private final InstahyreConfig config;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("page-snapshot-", 0).factory());
+    private final Map<String, SnapshotJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SnapshotJob> eldest) {
+            return size() > MAX_JOBS_KEPT;
+        }
+    });
+
+    /**
+     * Queue a snapshot of {@code page} (a key of instahyre.snapshot.pages) and return at once.
+     *
+     * @throws IllegalArgumentException for an unknown page
+     */
+    public SnapshotJob submit(String page) {
+        String path = config.getSnapshot().getPages().get(page);
+        if (path == null) {
+            throw new IllegalArgumentException("Unknown page '" + page + "', expected one of "
+                    + config.getSnapshot().getPages().keySet());
+        }
+        String url = path.startsWith("/") ? config.getBaseUrl() + path : path;
+        SnapshotJob job = new SnapshotJob(UUID.randomUUID().toString(), page);
+        jobs.put(job.getId(), job);
+        executor.submit(() -> run(job, url));
+        log.info("📋 Snapshot {} of '{}' queued", job.getId(), page);
+        return job;
+    }
+
+    public Optional<SnapshotJob> job(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Make a finished snapshot the known-good one its page is compared against.
+     *
+     * @throws IllegalArgumentException if the job does not exist or has no snapshot
+     */
+    public SnapshotJob accept(String id) throws IOException {
+        SnapshotJob job = jobs.get(id);
+        if (job == null || job.getSnapshot() == null) {
+            throw new IllegalArgumentException("No finished snapshot with id " + id);
+        }
+        writeKnownGood(job.getSnapshot());
+        job.setDiff(null);
+        log.info("✅ Snapshot {} is now the known-good '{}' snapshot", id, job.getPage());
+        return job;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(SnapshotJob job, String url) {
+        job.setStatus(SnapshotJob.Status.RUNNING);
+        try {
+            PageSnapshot snapshot = capture(job, url);
+            store(snapshot);
+
+            PageSnapshot knownGood = readKnownGood(job.getPage());
+            if (knownGood == null) {
+                writeKnownGood(snapshot); // the first snapshot of a page is the baseline
+            } else {
+                SnapshotDiff diff = diff(knownGood, snapshot);
+                job.setDiff(diff);
+                if (diff.hasDrift()) {
+                    log.warn("⚠️ '{}' drifted from known-good snapshot {}: {} elements added, {} removed, {} API fields added, {} removed",
+                            job.getPage(), knownGood.id(), diff.addedElements().size(), diff.removedElements().size(),
+                            diff.addedFields().size(), diff.removedFields().size());
+                } else {
+                    writeKnownGood(snapshot);
+                }
+            }
+            job.setSnapshot(snapshot);
+            job.setStatus(SnapshotJob.Status.DONE);
+        } catch (Exception e) {
+            log.error("Snapshot {} of '{}' failed", job.getId(), job.getPage(), e);
+            job.setError(e.getMessage());
+            job.setStatus(SnapshotJob.Status.FAILED);
+        } finally {
+            job.setFinishedAt(Instant.now());
+        }
+    }
+
+    private PageSnapshot capture(SnapshotJob job, String url) throws Exception {
+        Map<String, Integer> domPaths = new TreeMap<>();
+        String finalUrl = scraperService.withDriver(driver -> {
+            driver.get(url);
+            new WebDriverWait(driver, Duration.ofSeconds(20)).until(d ->
+                    "complete".equals(((JavascriptExecutor) d).executeScript("return document.readyState")));
+            try {
+                WaitEvent.sleep("snapshot: client-side render", 2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while loading " + url, e);
+            }
+            Object skeleton = ((JavascriptExecutor) driver).executeScript(DOM_SKELETON_SCRIPT);
+            if (skeleton instanceof Map<?, ?> paths) {
+                paths.forEach((path, count) -> domPaths.put(path.toString(), ((Number) count).intValue()));
+            }
+            return driver.getCurrentUrl();
+        });
+        if (!samePage(url, finalUrl)) {
+            // e.g. the login page with an active session; its fingerprint would describe another page
+            throw new IllegalStateException("'" + job.getPage() + "' redirected to " + finalUrl
+                    + ", so there is nothing of that page to snapshot");
+        }
+
+        Map<String, List<String>> apiShapes = new TreeMap<>();
+        if (session.isValid()) {
+            String apiBase = config.getBaseUrl() + "/api/v1/";
+            apiShapes.put("candidate_opportunity", apiShape(apiBase + "candidate_opportunity?limit=1&offset=0"));
+            apiShapes.put("job_search", apiShape(apiBase + "job_search?"
+                    + targetingService.current().jobSearchQuery() + "&limit=1&offset=0"));
+        } else {
+            log.info("No valid session - snapshot {} covers the page only, not the API", job.getId());
+        }
+
+        return new PageSnapshot(job.getId(), job.getPage(), finalUrl, Instant.now().toString(),
+                fingerprint(domPaths.entrySet().stream().map(e -> e.getKey() + "=" + e.getValue()).toList()),
+                domPaths, fingerprint(apiShapes.entrySet().stream().map(e -> e.getKey() + ":" + e.getValue()).toList()),
+                apiShapes);
+    }
+
+    private static boolean samePage(String requested, String loaded) {
+        URI a = URI.create(requested);
+        URI b = URI.create(loaded);
+        return Objects.equals(a.getHost(), b.getHost()) && trimSlash(a.getPath()).equals(trimSlash(b.getPath()));
+    }
+
+    private static String trimSlash(String path) {
+        return path == null ? "" : path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    // Sorted "pointer:type" entries for one response; array elements share a "*" segment
+    private List<String> apiShape(String url) throws Exception {
+        ResponseEntity<String> response = restTemplate.exchange(
+                new URI(url), HttpMethod.GET, new HttpEntity<>(templates.listingHeaders()), String.class);
+        session.absorb(response.getHeaders());
+        Set<String> shape = new TreeSet<>();
+        collectShape(mapper.readTree(response.getBody()), "", shape, 0);
+        return List.copyOf(shape);
+    }
+
+    private static void collectShape(JsonNode node, String pointer, Set<String> shape, int depth) {
+        shape.add((pointer.isEmpty() ? "/" : pointer) + ":" + node.getNodeType().name().toLowerCase());
+        if (depth > 12) return;
+        if (node.isObject()) {
+            node.fieldNames().forEachRemaining(name -> collectShape(node.get(name), pointer + "/" + name, shape, depth + 1));
+        } else if (node.isArray()) {
+            node.forEach(element -> collectShape(element, pointer + "/*", shape, depth + 1));
+        }
+    }
+
+    private static SnapshotDiff diff(PageSnapshot baseline, PageSnapshot current) {
+        Set<String> beforeApi = new TreeSet<>();
+        baseline.apiShapes().forEach((endpoint, fields) -> fields.forEach(f -> beforeApi.add(endpoint + " " + f)));
+        Set<String> afterApi = new TreeSet<>();
+        current.apiShapes().forEach((endpoint, fields) -> fields.forEach(f -> afterApi.add(endpoint + " " + f)));
+        // Without a session the API part is not captured; that is not drift
+        boolean apiCompared = !baseline.apiShapes().isEmpty() && !current.apiShapes().isEmpty();
+
+        List<String> addedFields = apiCompared ? difference(afterApi, beforeApi) : List.of();
+        List<String> removedFields = apiCompared ? difference(beforeApi, afterApi) : List.of();
+        return new SnapshotDiff(baseline.id(),
+                !baseline.domFingerprint().equals(current.domFingerprint()),
+                difference(current.domPaths().keySet(), baseline.domPaths().keySet()),
+                difference(baseline.domPaths().keySet(), current.domPaths().keySet()),
+                apiCompared && !baseline.apiFingerprint().equals(current.apiFingerprint()),
+                addedFields, removedFields);
+    }
+
+    private static List<String> difference(Set<String> a, Set<String> b) {
+        return a.stream().filter(x -> !b.contains(x)).sorted().limit(MAX_DIFF_ENTRIES).toList();
+    }
+
+    private static String fingerprint(List<String> entries) throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for (String entry : entries) {
+            digest.update(entry.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void store(PageSnapshot snapshot) throws IOException {
+        Path dir = Path.of(config.getSnapshot().getDir());
+        Files.createDirectories(dir);
+        mapper.writerWithDefaultPrettyPrinter()
+                .writeValue(dir.resolve(snapshot.page() + "-" + snapshot.id() + ".json").toFile(), snapshot);
+    }
+
+    private PageSnapshot readKnownGood(String page) throws IOException {
+        Path path = knownGoodPath(page);
+        return Files.exists(path) ? mapper.readValue(path.toFile(), PageSnapshot.class) : null;
+    }
+
+    private void writeKnownGood(PageSnapshot snapshot) throws IOException {
+        Files.createDirectories(knownGoodPath(snapshot.page()).getParent());
+        mapper.writerWithDefaultPrettyPrinter().writeValue(knownGoodPath(snapshot.page()).toFile(), snapshot);
+    }
+
+    private Path knownGoodPath(String page) {
+        return Path.of(config.getSnapshot().getDir(), page + ".known-good.json");
+    }
+}
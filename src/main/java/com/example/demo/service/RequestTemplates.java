@@ -0,0 +1,96 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.JobDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Request parts that stay the same from one call to the next, built once per session.
+ * Header sets are rebuilt only when {@link InstahyreSession#version()} changes, which
+ * happens on login and whenever a cookie rotates. Apply bodies are fixed byte templates
+ * with only the job id written in.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RequestTemplates {
+
+    private static final byte[] OPPORTUNITY_PREFIX =
+            "{\"is_interested\":true,\"is_activity_page_job\":false,\"id\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] OPPORTUNITY_SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JOB_SEARCH_PREFIX =
+            "{\"is_interested\":true,\"is_activity_page_job\":false,\"id\":null,\"job_id\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JOB_SEARCH_SUFFIX = "}".getBytes(StandardCharsets.UTF_8);
+
+    private final InstahyreSession session;
+    private volatile Headers headers = new Headers(-1, HttpHeaders.EMPTY, HttpHeaders.EMPTY);
+
+    private record Headers(long version, HttpHeaders listing, HttpHeaders apply) {
+    }
+
+    /**
+     * Read-only headers for listing and probe GETs.
+     */
+    public HttpHeaders listingHeaders() {
+        return current().listing();
+    }
+
+    /**
+     * Read-only headers for the apply POST, including the JSON content type.
+     */
+    public HttpHeaders applyHeaders() {
+        return current().apply();
+    }
+
+    /**
+     * Apply body for {@code job}: the interest flags plus the id field its source expects.
+     *
+     * @throws NumberFormatException if a job_search job id is not numeric
+     */
+    public byte[] applyBody(JobDTO job) {
+        if ("job_search".equals(job.getSource())) {
+            String jobId = Long.toString(Long.parseLong(job.getJobId()));
+            return patch(JOB_SEARCH_PREFIX, jobId, JOB_SEARCH_SUFFIX);
+        }
+        String id = job.getId();
+        if (id == null) {
+            return "{\"is_interested\":true,\"is_activity_page_job\":false,\"id\":null}".getBytes(StandardCharsets.UTF_8);
+        }
+        if (!id.chars().allMatch(c -> c >= 0x20 && c < 0x7f && c != '"' && c != '\\')) {
+            throw new IllegalArgumentException("Unexpected characters in opportunity id: " + id);
+        }
+        return patch(OPPORTUNITY_PREFIX, id, OPPORTUNITY_SUFFIX);
+    }
+
+    private Headers current() {
+        Headers cached = headers;
+        long version = session.version();
+        if (cached.version() == version) {
+            return cached;
+        }
+        // Version is read before the cookies, so a rotation during the rebuild triggers another one
+        HttpHeaders listing = session.headers();
+        HttpHeaders apply = new HttpHeaders();
+        apply.addAll(listing);
+        apply.setContentType(MediaType.APPLICATION_JSON);
+        Headers rebuilt = new Headers(version,
+                HttpHeaders.readOnlyHttpHeaders(listing), HttpHeaders.readOnlyHttpHeaders(apply));
+        headers = rebuilt;
+        log.debug("Request headers rebuilt for session version {}", version);
+        return rebuilt;
+    }
+
+    private static byte[] patch(byte[] prefix, String id, byte[] suffix) {
+        byte[] idBytes = id.getBytes(StandardCharsets.US_ASCII);
+        byte[] body = new byte[prefix.length + idBytes.length + suffix.length];
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+        System.arraycopy(idBytes, 0, body, prefix.length, idBytes.length);
+        System.arraycopy(suffix, 0, body, prefix.length + idBytes.length, suffix.length);
+        return body;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ApplyResult;
+import com.example.demo.dto.JobDTO;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * State of one applier run as recovered from the checkpoint journal: the jobs
+ * scraped so far, where each listing endpoint stopped, and which jobs were processed.
+ */
+public class RunCheckpoint {
+
+    @Getter
+    private final String runId;
+    @Getter
+    private final boolean resumed;
+    private final Map<String, Integer> offsets = new HashMap<>();
+    private final Map<String, Boolean> finished = new HashMap<>();
+    private final Map<String, List<JobDTO>> jobs = new ConcurrentHashMap<>(); // taken by both crawls at once
+    private final Map<String, ApplyResult.Outcome> outcomes = new HashMap<>();
+
+    RunCheckpoint(String runId, boolean resumed) {
+        this.runId = runId;
+        this.resumed = resumed;
+    }
+
+    void addPage(String endpoint, int nextOffset, List<JobDTO> pageJobs, boolean done) {
+        offsets.put(endpoint, nextOffset);
+        finished.put(endpoint, done);
+        jobs.computeIfAbsent(endpoint, e -> new ArrayList<>()).addAll(pageJobs);
+    }
+
+    void addOutcome(String jobKey, ApplyResult.Outcome outcome) {
+        outcomes.put(jobKey, outcome);
+    }
+
+    public int offset(String endpoint) {
+        return offsets.getOrDefault(endpoint, 0);
+    }
+
+    public boolean isFinished(String endpoint) {
+        return finished.getOrDefault(endpoint, false);
+    }
+
+    /**
+     * Jobs journaled for this endpoint; they are handed over once, so the checkpoint stops holding them.
+     */
+    public List<JobDTO> takeJobs(String endpoint) {
+        List<JobDTO> taken = jobs.remove(endpoint);
+        return taken != null ? taken : List.of();
+    }
+
+    public boolean isProcessed(String jobKey) {
+        return outcomes.containsKey(jobKey);
+    }
+
+    public int processedCount() {
+        return outcomes.size();
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.demo.service;
+
+import com.example.demo.config.InstahyreConfig;
+import com.example.demo.dto.ApplyResult;
+import com.example.demo.dto.JobDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only journal of the current run, so an interrupted run can pick up where it stopped.
+ * Each scraped page (jobs + cursor) and each apply outcome is one JSON line; the
+ * journal is deleted when a run completes, so a journal found on disk is unfinished.
+ * Only settled outcomes (applied, already applied) are journaled; failed jobs are
+ * retried when the run resumes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RunCheckpointStore {
+
+    private static final String JOURNAL_FILE = "run.journal";
+
+    private final InstahyreConfig config;
+    private final ObjectMapper mapper = new ObjectMapper();
+    // Guards the journal writer; held across disk writes
+    private final ReentrantLock lock = new ReentrantLock();
+    private BufferedWriter writer;
+
+    public boolean hasUnfinishedRun() {
+        return config.getCheckpoint().isEnabled() && Files.exists(journalPath());
+    }
+
+    /**
+     * Resume the unfinished run in the journal, or start a new one.
+     */
+    public RunCheckpoint open() {
+        if (!config.getCheckpoint().isEnabled()) {
+            return new RunCheckpoint(UUID.randomUUID().toString(), false);
+        }
+
+        lock.lock();
+        try {
+            return openJournal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private RunCheckpoint openJournal() {
+        RunCheckpoint checkpoint = load();
+        try {
+            Files.createDirectories(journalPath().getParent());
+            if (checkpoint == null) {
+                checkpoint = new RunCheckpoint(UUID.randomUUID().toString(), false);
+                writer = Files.newBufferedWriter(journalPath(),
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                append(Map.of("type", "start", "runId", checkpoint.getRunId()));
+            } else {
+                log.info("♻️ Resuming run {} ({} jobs already processed)",
+                        checkpoint.getRunId(), checkpoint.processedCount());
+                boolean torn = !endsWithNewline(journalPath());
+                writer = Files.newBufferedWriter(journalPath(), StandardOpenOption.APPEND);
+                if (torn) {
+                    writer.newLine(); // new records must not continue the torn one
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Checkpoint journal unavailable, run will not be resumable: {}", e.getMessage());
+            writer = null;
+        }
+        return checkpoint;
+    }
+
+    public void recordPage(String endpoint, int nextOffset, List<JobDTO> jobs, boolean finished) {
+        List<Map<String, Object>> jobRecords = new ArrayList<>(jobs.size());
+        for (JobDTO job : jobs) {
+            Map<String, Object> record = new HashMap<>();
+            record.put("source", job.getSource());
+            record.put("id", job.getId());
+            record.put("jobId", job.getJobId());
+            record.put("role", job.getRole());
+            record.put("company", job.getCompany());
+            record.put("skills", job.getSkills());
+            jobRecords.add(record);
+        }
+        append(Map.of("type", "page", "endpoint", endpoint, "nextOffset", nextOffset,
+                "finished", finished, "jobs", jobRecords));
+    }
+
+    /**
+     * Journal a settled outcome, so a resumed run skips the job.
+     *
+     * @throws IllegalArgumentException for an outcome that should be retried on resume
+     */
+    public void recordOutcome(String jobKey, ApplyResult.Outcome outcome) {
+        if (!isSettled(outcome)) {
+            throw new IllegalArgumentException("Only settled outcomes are journaled, not " + outcome);
+        }
+        append(Map.of("type", "outcome", "key", jobKey, "outcome", outcome.name()));
+    }
+
+    public static boolean isSettled(ApplyResult.Outcome outcome) {
+        return outcome == ApplyResult.Outcome.APPLIED || outcome == ApplyResult.Outcome.ALREADY_APPLIED;
+    }
+
+    /**
+     * Run finished: drop the journal so the next run starts fresh.
+     */
+    public void complete() {
+        lock.lock();
+        try {
+            close();
+            Files.deleteIfExists(journalPath());
+        } catch (IOException e) {
+            log.warn("Failed to delete checkpoint journal: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Run stopped early (cancelled, session expired): keep the journal for the next run.
+     */
+    public void suspend() {
+        lock.lock();
+        try {
+            close();
+        } finally {
+            lock.unlock();
+        }
+        if (hasUnfinishedRun()) {
+            log.info("⏸️ Run checkpoint kept at {} - next run resumes from here", journalPath());
+        }
+    }
+
+    private void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("Failed to close checkpoint journal: {}", e.getMessage());
+            }
+            writer = null;
+        }
+    }
+
+    private void append(Map<String, Object> record) {
+        lock.lock();
+        try {
+            if (writer == null) return;
+            writer.write(mapper.writeValueAsString(record));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            log.warn("Failed to write checkpoint: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private RunCheckpoint load() {
+        Path path = journalPath();
+        if (!Files.exists(path)) return null;
+
+        // Read line by line; the journaled jobs themselves stay in memory until the crawls take them
+        RunCheckpoint checkpoint = null;
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            for (String line; (line = reader.readLine()) != null; ) {
+                JsonNode record;
+                try {
+                    record = mapper.readTree(line);
+                } catch (IOException e) {
+                    log.warn("Ignoring torn checkpoint record: {}", e.getMessage());
+                    continue; // a crash mid-write tears a line; a resumed run appends after it
+                }
+                String type = record.path("type").asText();
+                if ("start".equals(type)) {
+                    checkpoint = new RunCheckpoint(record.path("runId").asText(), true);
+                } else if (checkpoint == null) {
+                    break;
+                } else if ("page".equals(type)) {
+                    List<JobDTO> jobs = new ArrayList<>();
+                    for (JsonNode job : record.path("jobs")) {
+                        List<String> skills = new ArrayList<>();
+                        job.path("skills").forEach(skill -> skills.add(skill.asText()));
+                        jobs.add(JobDTO.builder()
+                                .source(job.path("source").asText())
+                                .id(job.path("id").isNull() ? null : job.path("id").asText())
+                                .jobId(job.path("jobId").isNull() ? null : job.path("jobId").asText())
+                                .role(job.path("role").isNull() ? null : job.path("role").asText())
+                                .company(job.path("company").isNull() ? null : job.path("company").asText())
+                                .skills(skills)
+                                .build());
+                    }
+                    checkpoint.addPage(record.path("endpoint").asText(), record.path("nextOffset").asInt(),
+                            jobs, record.path("finished").asBoolean());
+                } else if ("outcome".equals(type)) {
+                    ApplyResult.Outcome outcome = ApplyResult.Outcome.valueOf(record.path("outcome").asText());
+                    if (isSettled(outcome)) { // older journals also hold failures, which are retried
+                        checkpoint.addOutcome(record.path("key").asText(), outcome);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Unreadable checkpoint journal, starting fresh: {}", e.getMessage());
+            return null;
+        }
+        return checkpoint;
+    }
+
+    private static boolean endsWithNewline(Path path) throws IOException {
+        try (SeekableByteChannel channel = Files.newByteChannel(path)) {
+            if (channel.size() == 0) return true;
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.position(channel.size() - 1).read(last);
+            return last.get(0) == '\n';
+        }
+    }
+
+    private Path journalPath() {
+        return Path.of(config.getCheckpoint().getDir(), JOURNAL_FILE);
+    }
+}
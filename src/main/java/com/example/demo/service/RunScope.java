@@ -0,0 +1,92 @@
+package com.example.demo.service;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Task scope for a single applier run.
+ * Subtasks forked here live no longer than the run: a failing subtask cancels its
+ * siblings and is reported through {@link #failure()}, and cancelling the scope also
+ * interrupts the thread that opened it, unless the scope has been closed by then.
+ */
+public class RunScope implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final Thread owner = Thread.currentThread();
+    private final List<Future<?>> tasks = new CopyOnWriteArrayList<>();
+    // Orders cancel() against close(), so the owner is never interrupted once it has left the scope
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean cancelled;
+    private volatile Throwable failure;
+    private boolean closed;
+
+    public RunScope(ThreadFactory threadFactory) {
+        this.executor = Executors.newThreadPerTaskExecutor(threadFactory);
+    }
+
+    public <T> Future<T> fork(Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task) {
+            @Override
+            protected void setException(Throwable t) {
+                super.setException(t);
+                fail(t);
+            }
+        };
+        tasks.add(future);
+        executor.execute(future);
+        return future;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * First exception thrown by a subtask, or null while none has failed.
+     */
+    public Throwable failure() {
+        return failure;
+    }
+
+    public void cancel() {
+        lock.lock();
+        try {
+            if (cancelled || closed) return;
+            cancelled = true;
+            tasks.forEach(task -> task.cancel(true));
+            if (owner != Thread.currentThread()) {
+                owner.interrupt();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            // An interrupt this scope delivered is spent once the owner leaves it
+            if (cancelled && owner == Thread.currentThread()) {
+                Thread.interrupted();
+            }
+        } finally {
+            lock.unlock();
+        }
+        tasks.forEach(task -> task.cancel(true));
+        executor.close();
+    }
+
+    private void fail(Throwable t) {
+        lock.lock();
+        try {
+            if (failure != null || closed) return;
+            failure = t;
+        } finally {
+            lock.unlock();
+        }
+        tasks.forEach(task -> task.cancel(true));
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.JobDTO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Jobs discovered in one run, handed to the applier while the crawls are still adding.
+ * Up to {@code memoryBudget} jobs are held in memory; once that is full, new jobs are
+ * appended to a spill file and read back one at a time after the in-memory jobs are
+ * consumed. Spilled records store the {@link com.example.demo.dto.TokenDictionary} ids
+ * of company and skills, so the file is only readable by the process that wrote it.
+ * Jobs come out in the order they were added.
+ */
+@Slf4j
+public class SpillingJobQueue implements Closeable {
+
+    private final Path spillDir;
+    private final int memoryBudget;
+    private final Deque<JobDTO> memory = new ArrayDeque<>();
+    // Held across spill file reads and writes
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    private Path spillFile;
+    private DataOutputStream out;
+    private DataInputStream in;
+    private int producers;
+    private int size;
+    private int spilled;
+    private int unread;
+    private boolean unflushed;
+    private boolean closed;
+
+    /**
+     * @param memoryBudget jobs held in memory before spilling; 0 or less keeps everything in memory
+     * @param producers    number of producers that will call {@link #producerDone()} when they finish
+     */
+    public SpillingJobQueue(Path spillDir, int memoryBudget, int producers) {
+        this.spillDir = spillDir;
+        this.memoryBudget = memoryBudget;
+        this.producers = producers;
+    }
+
+    /**
+     * Queue a job; does nothing once the queue is closed.
+     */
+    public void add(JobDTO job) throws IOException {
+        lock.lock();
+        try {
+            if (closed) return;
+            size++;
+            // Memory is only used again once the spill file is drained, which keeps the order
+            if (unread == 0 && (memoryBudget <= 0 || memory.size() < memoryBudget)) {
+                memory.add(job);
+            } else {
+                if (out == null) {
+                    Files.createDirectories(spillDir);
+                    spillFile = Files.createTempFile(spillDir, "run-", ".spill");
+                    out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(spillFile)));
+                    log.info("💾 In-memory budget of {} jobs reached - spilling to {}", memoryBudget, spillFile);
+                }
+                write(job);
+                spilled++;
+                unread++;
+                unflushed = true;
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * One producer has added everything it will add.
+     */
+    public void producerDone() {
+        lock.lock();
+        try {
+            producers--;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Next job, waiting while the queue is empty but producers are still running.
+     *
+     * @return the next job, or null once every producer is done and every job has been handed out
+     */
+    public JobDTO take() throws IOException, InterruptedException {
+        lock.lock();
+        try {
+            while (true) {
+                JobDTO job = memory.poll();
+                if (job != null) {
+                    return job;
+                }
+                if (unread > 0) {
+                    if (unflushed) {
+                        out.flush(); // the reader only ever sees whole records
+                        unflushed = false;
+                    }
+                    if (in == null) {
+                        in = new DataInputStream(new BufferedInputStream(Files.newInputStream(spillFile)));
+                    }
+                    unread--;
+                    return read();
+                }
+                if (producers <= 0 || closed) {
+                    return null;
+                }
+                changed.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Jobs added in total, including those already taken.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int spilledCount() {
+        lock.lock();
+        try {
+            return spilled;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            memory.clear();
+            changed.signalAll();
+            if (out != null) out.close();
+            if (in != null) in.close();
+            if (spillFile != null) Files.deleteIfExists(spillFile);
+        } catch (IOException e) {
+            log.warn("Failed to remove spill file {}: {}", spillFile, e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(JobDTO job) throws IOException {
+        out.writeUTF(job.getSource());
+        writeNullable(job.getId());
+        writeNullable(job.getJobId());
+        writeNullable(job.getRole());
+        out.writeInt(job.getCompanyId());
+        long[] skills = job.getSkillSet() == null ? new long[0] : job.getSkillSet().toLongArray();
+        out.writeShort(skills.length);
+        for (long word : skills) out.writeLong(word);
+    }
+
+    private JobDTO read() throws IOException {
+        String source = in.readUTF();
+        String id = readNullable();
+        String jobId = readNullable();
+        String role = readNullable();
+        int companyId = in.readInt();
+        long[] skills = new long[in.readUnsignedShort()];
+        for (int i = 0; i < skills.length; i++) skills[i] = in.readLong();
+        return JobDTO.builder()
+                .source(source)
+                .id(id)
+                .jobId(jobId)
+                .role(role)
+                .companyId(companyId)
+                .skillSet(BitSet.valueOf(skills))
+                .build();
+    }
+
+    private void writeNullable(String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeUTF(value);
+    }
+
+    private String readNullable() throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
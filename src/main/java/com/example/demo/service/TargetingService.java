@@ -0,0 +1,122 @@
+package com.example.demo.service;
+
+import com.example.demo.config.InstahyreConfig;
+import com.example.demo.dto.TargetingUpdate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the active {@link TargetingSnapshot} and swaps it atomically at runtime.
+ * Updates come from the admin endpoint or from a watched YAML file. An invalid
+ * update is rejected and the current snapshot stays; earlier snapshots are kept
+ * for rollback.
+ */
+@Service
+@Lazy(false)
+@Slf4j
+public class TargetingService {
+
+    private static final int HISTORY_SIZE = 10;
+
+    private final InstahyreConfig config;
+    private final AtomicReference<TargetingSnapshot> current = new AtomicReference<>();
+    private final Deque<TargetingSnapshot> history = new ArrayDeque<>();
+    private FileTime lastModified;
+
+    public TargetingService(InstahyreConfig config) {
+        this.config = config;
+        TargetingUpdate.JobSearch jobSearch = new TargetingUpdate.JobSearch();
+        jobSearch.setEnabled(config.getJobSearch().isEnabled());
+        jobSearch.setSkills(config.getJobSearch().getSkills());
+        jobSearch.setLocations(config.getJobSearch().getLocations());
+        jobSearch.setYearsOfExperience(config.getJobSearch().getYearsOfExperience());
+        TargetingUpdate initial = new TargetingUpdate();
+        initial.setKeywords(config.getKeywords());
+        initial.setKeywordFilter(config.isKeywordFilter());
+        initial.setJobSearch(jobSearch);
+        current.set(TargetingSnapshot.compile(1, "application.yml", initial));
+    }
+
+    /**
+     * Snapshot in effect right now; read it once per job or per scrape and use that copy.
+     */
+    public TargetingSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Apply an update on top of the current snapshot; settings it leaves out are kept.
+     *
+     * @throws IllegalArgumentException if the update fails validation; nothing is swapped
+     */
+    public synchronized TargetingSnapshot apply(TargetingUpdate update, String origin) {
+        TargetingSnapshot previous = current.get();
+        TargetingSnapshot next = previous.merge(previous.version() + 1, origin, update);
+        history.push(previous);
+        while (history.size() > HISTORY_SIZE) {
+            history.removeLast();
+        }
+        current.set(next);
+        log.info("🎯 Targeting v{} active (from {}): {} keywords, filter {}, {} skills, {} locations",
+                next.version(), origin, next.keywords().size(), next.keywordFilter() ? "on" : "off",
+                next.skills().size(), next.locations().size());
+        return next;
+    }
+
+    /**
+     * Restore the snapshot that was active before the last update.
+     *
+     * @throws IllegalStateException if there is nothing to roll back to
+     */
+    public synchronized TargetingSnapshot rollback() {
+        TargetingSnapshot previous = history.poll();
+        if (previous == null) {
+            throw new IllegalStateException("No earlier targeting configuration to roll back to");
+        }
+        current.set(previous);
+        log.info("↩️ Targeting rolled back to v{} (from {})", previous.version(), previous.origin());
+        return previous;
+    }
+
+    @Scheduled(fixedDelayString = "${instahyre.targeting.poll-ms:5000}")
+    public void reloadFromFile() {
+        String file = config.getTargeting().getFile();
+        if (file == null || file.isBlank()) {
+            return;
+        }
+        Path path = Path.of(file);
+        try {
+            if (!Files.exists(path)) {
+                return;
+            }
+            FileTime modified = Files.getLastModifiedTime(path);
+            if (modified.equals(lastModified)) {
+                return;
+            }
+            lastModified = modified;
+
+            YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+            yaml.setResources(new FileSystemResource(path));
+            Properties properties = yaml.getObject();
+            TargetingUpdate update = new Binder(new MapConfigurationPropertySource(properties))
+                    .bindOrCreate("instahyre", TargetingUpdate.class);
+            apply(update, path.toString());
+        } catch (Exception e) {
+            log.error("❌ Rejected targeting file {} - keeping v{}: {}", path, current().version(), e.getMessage());
+        }
+    }
+}
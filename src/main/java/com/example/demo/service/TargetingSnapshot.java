@@ -0,0 +1,104 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TargetingUpdate;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable, precompiled targeting state: the keyword matcher and the job_search
+ * query string are built once per configuration change, not per job or per page.
+ */
+public record TargetingSnapshot(long version,
+                                Instant loadedAt,
+                                String origin,
+                                List<String> keywords,
+                                boolean keywordFilter,
+                                KeywordMatcher matcher,
+                                boolean jobSearchEnabled,
+                                List<String> skills,
+                                List<String> locations,
+                                int yearsOfExperience,
+                                String jobSearchQuery) {
+
+    // ✅ Skills from the browser's search - used when no job-search skills are configured
+    static final List<String> DEFAULT_SKILLS = List.of("Java", "Data Structures", "Spring Boot", "AWS", "J2EE",
+            "MySQL", "Kafka", "Redis", "SQL", "Spring", "Docker", "Kubernetes");
+
+    /**
+     * Validate and precompile a complete update; missing settings fall back to their defaults.
+     *
+     * @throws IllegalArgumentException if the update is not usable
+     */
+    public static TargetingSnapshot compile(long version, String origin, TargetingUpdate update) {
+        TargetingUpdate.JobSearch jobSearch = update.getJobSearch() != null
+                ? update.getJobSearch() : new TargetingUpdate.JobSearch();
+        List<String> keywords = clean("keywords", update.getKeywords());
+        boolean keywordFilter = Boolean.TRUE.equals(update.getKeywordFilter());
+        boolean enabled = !Boolean.FALSE.equals(jobSearch.getEnabled());
+        List<String> skills = clean("job-search.skills", jobSearch.getSkills());
+        List<String> locations = clean("job-search.locations", jobSearch.getLocations());
+        int years = jobSearch.getYearsOfExperience() != null ? jobSearch.getYearsOfExperience() : 3;
+
+        if (keywordFilter && keywords.isEmpty()) {
+            throw new IllegalArgumentException("keyword-filter is on but no keywords are configured");
+        }
+        if (years < 0 || years > 50) {
+            throw new IllegalArgumentException("job-search.years-of-experience must be between 0 and 50");
+        }
+        if (skills.isEmpty()) {
+            skills = DEFAULT_SKILLS;
+        }
+
+        return new TargetingSnapshot(version, Instant.now(), origin, keywords, keywordFilter,
+                new KeywordMatcher(keywords), enabled, skills, locations, years,
+                buildQuery(skills, locations, years));
+    }
+
+    /**
+     * Validate and precompile an update on top of this snapshot: settings the update
+     * leaves out keep the value they have here.
+     *
+     * @throws IllegalArgumentException if the result is not usable
+     */
+    public TargetingSnapshot merge(long version, String origin, TargetingUpdate update) {
+        TargetingUpdate.JobSearch changes = update.getJobSearch() != null
+                ? update.getJobSearch() : new TargetingUpdate.JobSearch();
+        TargetingUpdate.JobSearch jobSearch = new TargetingUpdate.JobSearch();
+        jobSearch.setEnabled(changes.getEnabled() != null ? changes.getEnabled() : jobSearchEnabled);
+        jobSearch.setSkills(changes.getSkills() != null ? changes.getSkills() : skills);
+        jobSearch.setLocations(changes.getLocations() != null ? changes.getLocations() : locations);
+        jobSearch.setYearsOfExperience(changes.getYearsOfExperience() != null
+                ? changes.getYearsOfExperience() : yearsOfExperience);
+
+        TargetingUpdate merged = new TargetingUpdate();
+        merged.setKeywords(update.getKeywords() != null ? update.getKeywords() : keywords);
+        merged.setKeywordFilter(update.getKeywordFilter() != null ? update.getKeywordFilter() : keywordFilter);
+        merged.setJobSearch(jobSearch);
+        return compile(version, origin, merged);
+    }
+
+    private static List<String> clean(String field, List<String> values) {
+        if (values == null) return List.of();
+        for (String value : values) {
+            if (value == null || value.isBlank()) {
+                throw new IllegalArgumentException(field + " contains a blank entry");
+            }
+        }
+        return values.stream().map(String::trim).distinct().toList();
+    }
+
+    private static String buildQuery(List<String> skills, List<String> locations, int years) {
+        StringBuilder query = new StringBuilder("company_size=0");
+        locations.forEach(location -> query.append("&jobLocations=").append(encode(location)));
+        query.append("&job_functions=10&job_type=0");
+        skills.forEach(skill -> query.append("&skills=").append(encode(skill)));
+        return query.append("&status=0&years=").append(years).toString();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
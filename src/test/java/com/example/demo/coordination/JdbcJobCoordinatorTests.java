@@ -0,0 +1,74 @@
+package com.example.demo.coordination;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JdbcJobCoordinatorTests {
+
+	private JdbcTemplate jdbc;
+	private JdbcJobCoordinator first;
+	private JdbcJobCoordinator second;
+
+	@BeforeEach
+	void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+		jdbc = new JdbcTemplate(dataSource);
+		first = new JdbcJobCoordinator(jdbc, "instance-1", Duration.ofMinutes(30));
+		second = new JdbcJobCoordinator(jdbc, "instance-2", Duration.ofMinutes(30));
+		first.initSchema();
+	}
+
+	@Test
+	void onlyOneInstanceWinsAClaim() {
+		assertThat(first.claim("job_1")).isTrue();
+		assertThat(second.claim("job_1")).isFalse();
+	}
+
+	@Test
+	void releasedClaimCanBeTakenByAnotherInstance() {
+		first.claim("job_1");
+		first.release("job_1");
+
+		assertThat(second.claim("job_1")).isTrue();
+	}
+
+	@Test
+	void appliedJobCannotBeClaimedAgain() {
+		first.claim("job_1");
+		first.markApplied("job_1");
+
+		assertThat(second.claim("job_1")).isFalse();
+		assertThat(second.isApplied("job_1")).isTrue();
+		assertThat(second.appliedCount()).isEqualTo(1);
+
+		second.clearApplied();
+		assertThat(first.appliedCount()).isZero();
+	}
+
+	@Test
+	void staleClaimIsTakenOver() throws InterruptedException {
+		first.claim("job_1");
+		JdbcJobCoordinator impatient = new JdbcJobCoordinator(jdbc, "instance-3", Duration.ofMillis(1));
+		Thread.sleep(10);
+
+		assertThat(impatient.claim("job_1")).isTrue();
+	}
+
+	@Test
+	void runLeaseIsExclusiveUntilReleased() {
+		assertThat(first.tryAcquireRunLease("scheduled-run", Duration.ofMinutes(5))).isTrue();
+		assertThat(second.tryAcquireRunLease("scheduled-run", Duration.ofMinutes(5))).isFalse();
+		assertThat(first.tryAcquireRunLease("scheduled-run", Duration.ofMinutes(5))).isTrue();
+
+		first.releaseRunLease("scheduled-run");
+		assertThat(second.tryAcquireRunLease("scheduled-run", Duration.ofMinutes(5))).isTrue();
+	}
+}
@@ -0,0 +1,88 @@
+package com.example.demo.service;
+
+import com.example.demo.config.InstahyreConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptivePagerTests {
+
+	private static final String ENDPOINT = "candidate_opportunity";
+
+	private AdaptivePager pager;
+
+	@BeforeEach
+	void setUp() {
+		InstahyreConfig config = new InstahyreConfig();
+		config.getPaging().setMinLimit(10);
+		config.getPaging().setMaxLimit(200);
+		config.getPaging().setTargetLatencyMs(1000);
+		pager = new AdaptivePager(config);
+	}
+
+	@Test
+	void firstPageProbesWithTheLargestSize() {
+		assertThat(pager.nextLimit(ENDPOINT)).isEqualTo(200);
+	}
+
+	@Test
+	void shortLastPageDoesNotShrinkThePageSize() {
+		pager.record(ENDPOINT, 200, 37, 0, 100, 1000);
+		assertThat(pager.nextLimit(ENDPOINT)).isEqualTo(200);
+
+		pager.record(ENDPOINT, 200, 0, 37, 100, 10);
+		assertThat(pager.nextLimit(ENDPOINT)).isEqualTo(200);
+	}
+
+	@Test
+	void shortPageFollowedByAnotherPageBecomesTheCap() {
+		pager.record(ENDPOINT, 200, 50, 0, 100, 1000);
+		pager.record(ENDPOINT, 200, 50, 50, 100, 1000);
+
+		assertThat(pager.nextLimit(ENDPOINT)).isEqualTo(50);
+	}
+
+	@Test
+	void confirmedCapBelowTheMinimumIsClamped() {
+		pager.record(ENDPOINT, 200, 5, 0, 100, 1000);
+		pager.record(ENDPOINT, 200, 5, 5, 100, 1000);
+
+		assertThat(pager.nextLimit(ENDPOINT)).isEqualTo(10);
+	}
+
+	@Test
+	void slowPagesShrinkTheSizeDownToTheMinimum() {
+		for (int i = 0; i < 10; i++) {
+			int limit = pager.nextLimit(ENDPOINT);
+			pager.record(ENDPOINT, limit, limit, 0, 5000, 1000);
+		}
+
+		assertThat(pager.nextLimit(ENDPOINT)).isEqualTo(10);
+	}
+
+	@Test
+	void fastPagesGrowTheSizeBackUpToTheCap() {
+		pager.record(ENDPOINT, 200, 100, 0, 100, 1000);
+		pager.record(ENDPOINT, 200, 100, 100, 100, 1000);
+		pager.record(ENDPOINT, 100, 100, 0, 5000, 1000);
+		assertThat(pager.nextLimit(ENDPOINT)).isEqualTo(50);
+
+		for (int i = 0; i < 5; i++) {
+			int limit = pager.nextLimit(ENDPOINT);
+			pager.record(ENDPOINT, limit, limit, 0, 100, 1000);
+		}
+
+		assertThat(pager.nextLimit(ENDPOINT)).isEqualTo(100);
+	}
+
+	@Test
+	void shortPageEndingOneCrawlIsNotConfirmedByTheNextCrawl() {
+		// A crawl stops (session lost, cancelled, max-jobs) right after a short page...
+		pager.record(ENDPOINT, 200, 37, 0, 100, 1000);
+		// ...and the next crawl, or one running alongside it, gets a full first page
+		pager.record(ENDPOINT, 200, 200, 0, 100, 1000);
+
+		assertThat(pager.nextLimit(ENDPOINT)).isEqualTo(200);
+	}
+}
@@ -0,0 +1,79 @@
+package com.example.demo.service;
+
+import com.example.demo.config.InstahyreConfig;
+import com.example.demo.dto.JobDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobExtractorsTests {
+
+	private final JobExtractors extractors = new JobExtractors(new InstahyreConfig());
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	@TempDir
+	Path spillDir;
+
+	@Test
+	void opportunityItemsCarryTheirIdAsOpportunityId() throws Exception {
+		JobDTO job = extract("candidate_opportunity", """
+				{"objects": [{"id": "abc123", "title": "Backend Engineer",
+				              "employer": {"company_name": "Acme"}, "keywords": ["Java"]}]}""");
+
+		assertThat(job.getSource()).isEqualTo("opportunity");
+		assertThat(job.getId()).isEqualTo("abc123");
+		assertThat(job.getJobId()).isNull();
+		assertThat(job.getTitle()).isEqualTo("Acme - Backend Engineer");
+		assertThat(job.getSkills()).containsExactly("Java");
+	}
+
+	@Test
+	void jobSearchItemsCarryTheirIdAsJobId() throws Exception {
+		JobDTO job = extract("job_search", """
+				{"objects": [{"job": {"id": 411859, "candidate_title": "Platform Engineer", "keywords": ["Go"]},
+				              "employer": {"company_name": "Globex"}}]}""");
+
+		assertThat(job.getSource()).isEqualTo("job_search");
+		assertThat(job.getJobId()).isEqualTo("411859");
+		assertThat(job.getId()).isNull();
+		assertThat(job.getTitle()).isEqualTo("Globex - Platform Engineer");
+	}
+
+	@Test
+	void jobsFromBothEndpointsReachTheQueue() throws Exception {
+		JobDTO opportunity = extract("candidate_opportunity", """
+				{"objects": [{"id": "abc123", "title": "Backend Engineer", "employer": {"company_name": "Acme"}}]}""");
+		JobDTO jobSearch = extract("job_search", """
+				{"objects": [{"job": {"id": 411859, "candidate_title": "Platform Engineer"},
+				              "employer": {"company_name": "Globex"}}]}""");
+
+		Set<String> seenKeys = new HashSet<>();
+		List<JobDTO> queued = new ArrayList<>();
+		try (SpillingJobQueue queue = new SpillingJobQueue(spillDir, 0, 0)) {
+			AutoApplierService.enqueue("candidate_opportunity", List.of(opportunity), queue, seenKeys);
+			AutoApplierService.enqueue("job_search", List.of(jobSearch), queue, seenKeys);
+			for (JobDTO job; (job = queue.take()) != null; ) {
+				queued.add(job);
+			}
+		}
+
+		assertThat(queued).containsExactly(opportunity, jobSearch);
+		assertThat(seenKeys).containsExactlyInAnyOrder("opp_abc123", "job_411859");
+	}
+
+	private JobDTO extract(String endpoint, String json) throws Exception {
+		FieldExtractor extractor = extractors.forEndpoint(endpoint);
+		JsonNode items = extractor.items(mapper.readTree(json));
+		assertThat(items.size()).isEqualTo(1);
+		return extractor.toJob(items.get(0));
+	}
+}
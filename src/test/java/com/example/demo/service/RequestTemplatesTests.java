@@ -0,0 +1,109 @@
+package com.example.demo.service;
+
+import com.example.demo.config.InstahyreConfig;
+import com.example.demo.dto.JobDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestTemplatesTests {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final InstahyreSession session = new InstahyreSession(new InstahyreConfig());
+	private final RequestTemplates templates = new RequestTemplates(session);
+
+	@Test
+	void opportunityBodyMatchesTheMapPayload() throws Exception {
+		JobDTO job = JobDTO.builder().source("opportunity").id("abc-123").build();
+
+		assertThat(mapper.readTree(templates.applyBody(job))).isEqualTo(mapper.valueToTree(legacyPayload(job)));
+	}
+
+	@Test
+	void jobSearchBodyMatchesTheMapPayload() throws Exception {
+		JobDTO job = JobDTO.builder().source("job_search").jobId("411859").build();
+
+		assertThat(mapper.readTree(templates.applyBody(job))).isEqualTo(mapper.valueToTree(legacyPayload(job)));
+	}
+
+	@Test
+	void opportunityWithoutIdSendsNullId() throws Exception {
+		JobDTO job = JobDTO.builder().source("opportunity").build();
+
+		assertThat(mapper.readTree(templates.applyBody(job))).isEqualTo(mapper.valueToTree(legacyPayload(job)));
+	}
+
+	@Test
+	void idThatWouldBreakOutOfTheJsonStringIsRejected() {
+		JobDTO job = JobDTO.builder().source("opportunity").id("abc\",\"is_interested\":false,\"x\":\"").build();
+
+		assertThatIllegalArgumentException().isThrownBy(() -> templates.applyBody(job));
+	}
+
+	@Test
+	void nonNumericJobSearchIdIsRejected() {
+		JobDTO job = JobDTO.builder().source("job_search").jobId("411859}").build();
+
+		assertThatThrownBy(() -> templates.applyBody(job)).isInstanceOf(NumberFormatException.class);
+	}
+
+	@Test
+	void headersAreReusedUntilTheSessionChanges() {
+		session.establish(Map.of("sessionid", "s1", "csrftoken", "c1"));
+		HttpHeaders first = templates.listingHeaders();
+
+		assertThat(templates.listingHeaders()).isSameAs(first);
+		assertThat(first.getFirst("x-csrftoken")).isEqualTo("c1");
+		assertThat(templates.applyHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+		assertThatThrownBy(() -> first.set("x-csrftoken", "other")).isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	void headersAreRebuiltWhenACookieRotates() {
+		session.establish(Map.of("sessionid", "s1", "csrftoken", "c1"));
+		HttpHeaders before = templates.listingHeaders();
+
+		HttpHeaders response = new HttpHeaders();
+		response.add(HttpHeaders.SET_COOKIE, "csrftoken=c2; Path=/");
+		session.absorb(response);
+		HttpHeaders after = templates.listingHeaders();
+
+		assertThat(after).isNotSameAs(before);
+		assertThat(after.getFirst("x-csrftoken")).isEqualTo("c2");
+		assertThat(after.getFirst("Cookie")).contains("csrftoken=c2").contains("sessionid=s1");
+		assertThat(templates.applyHeaders().getFirst("x-csrftoken")).isEqualTo("c2");
+	}
+
+	@Test
+	void headersAreRebuiltOnANewLogin() {
+		session.establish(Map.of("sessionid", "s1", "csrftoken", "c1"));
+		HttpHeaders before = templates.applyHeaders();
+
+		session.establish(Map.of("sessionid", "s2", "csrftoken", "c3"));
+
+		assertThat(templates.applyHeaders()).isNotSameAs(before);
+		assertThat(templates.applyHeaders().getFirst("Cookie")).contains("sessionid=s2");
+	}
+
+	// The payload as it was built before the byte templates
+	private static Map<String, Object> legacyPayload(JobDTO job) {
+		Map<String, Object> body = new HashMap<>();
+		body.put("is_interested", true);
+		body.put("is_activity_page_job", false);
+		if ("job_search".equals(job.getSource())) {
+			body.put("id", null);
+			body.put("job_id", Long.parseLong(job.getJobId()));
+		} else {
+			body.put("id", job.getId());
+		}
+		return body;
+	}
+}
@@ -0,0 +1,129 @@
+package com.example.demo.service;
+
+import com.example.demo.config.InstahyreConfig;
+import com.example.demo.dto.ApplyResult;
+import com.example.demo.dto.JobDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class RunCheckpointStoreTests {
+
+	private static final String OPPORTUNITIES = "candidate_opportunity";
+	private static final String JOB_SEARCH = "job_search";
+
+	@TempDir
+	Path checkpointDir;
+
+	private InstahyreConfig config;
+
+	@BeforeEach
+	void setUp() {
+		config = new InstahyreConfig();
+		config.getCheckpoint().setEnabled(true);
+		config.getCheckpoint().setDir(checkpointDir.toString());
+	}
+
+	@Test
+	void reopeningRestoresPagesAndSettledOutcomes() {
+		JobDTO first = opportunity("abc1", "Acme");
+		JobDTO second = opportunity("abc2", null);
+		JobDTO third = opportunity("abc3", "Globex");
+		JobDTO search = JobDTO.builder().source("job_search").jobId("411859").role("Platform Engineer")
+				.company("Initech").skills(List.of("Go")).build();
+
+		RunCheckpointStore store = new RunCheckpointStore(config);
+		RunCheckpoint started = store.open();
+		assertThat(started.isResumed()).isFalse();
+		store.recordPage(OPPORTUNITIES, 30, List.of(first, second), false);
+		store.recordPage(OPPORTUNITIES, 60, List.of(third), true);
+		store.recordPage(JOB_SEARCH, 30, List.of(search), false);
+		store.recordOutcome("opp_abc1", ApplyResult.Outcome.APPLIED);
+		store.recordOutcome("job_411859", ApplyResult.Outcome.ALREADY_APPLIED);
+		store.suspend();
+
+		RunCheckpoint resumed = new RunCheckpointStore(config).open();
+
+		assertThat(resumed.isResumed()).isTrue();
+		assertThat(resumed.getRunId()).isEqualTo(started.getRunId());
+		assertThat(resumed.offset(OPPORTUNITIES)).isEqualTo(60);
+		assertThat(resumed.isFinished(OPPORTUNITIES)).isTrue();
+		assertThat(resumed.offset(JOB_SEARCH)).isEqualTo(30);
+		assertThat(resumed.isFinished(JOB_SEARCH)).isFalse();
+		assertThat(resumed.takeJobs(OPPORTUNITIES)).containsExactly(first, second, third);
+		assertThat(resumed.takeJobs(JOB_SEARCH)).containsExactly(search);
+		assertThat(resumed.takeJobs(JOB_SEARCH)).isEmpty();
+		assertThat(resumed.isProcessed("opp_abc1")).isTrue();
+		assertThat(resumed.isProcessed("job_411859")).isTrue();
+		assertThat(resumed.isProcessed("opp_abc2")).isFalse();
+		assertThat(resumed.processedCount()).isEqualTo(2);
+	}
+
+	@Test
+	void unsettledOutcomesAreNotJournaled() {
+		RunCheckpointStore store = new RunCheckpointStore(config);
+		store.open();
+
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> store.recordOutcome("opp_abc1", ApplyResult.Outcome.FAILED));
+		store.suspend();
+	}
+
+	@Test
+	void tornLastLineIsIgnoredAndLaterRecordsStillLoad() throws Exception {
+		RunCheckpointStore store = new RunCheckpointStore(config);
+		store.open();
+		store.recordPage(OPPORTUNITIES, 30, List.of(opportunity("abc1", "Acme")), false);
+		store.recordOutcome("opp_abc1", ApplyResult.Outcome.APPLIED);
+		store.suspend();
+		Files.writeString(journal(), "{\"type\":\"outcome\",\"key\":\"opp_abc2\",\"outc", StandardOpenOption.APPEND);
+
+		RunCheckpoint resumed = store.open();
+		assertThat(resumed.isProcessed("opp_abc1")).isTrue();
+		assertThat(resumed.isProcessed("opp_abc2")).isFalse();
+		assertThat(resumed.offset(OPPORTUNITIES)).isEqualTo(30);
+		store.recordOutcome("opp_abc3", ApplyResult.Outcome.APPLIED);
+		store.suspend();
+
+		RunCheckpoint again = store.open();
+		assertThat(again.isProcessed("opp_abc1")).isTrue();
+		assertThat(again.isProcessed("opp_abc3")).isTrue();
+		assertThat(again.processedCount()).isEqualTo(2);
+		store.suspend();
+	}
+
+	@Test
+	void suspendKeepsTheJournalAndCompleteRemovesIt() {
+		RunCheckpointStore store = new RunCheckpointStore(config);
+		store.open();
+		store.recordOutcome("opp_abc1", ApplyResult.Outcome.APPLIED);
+
+		store.suspend();
+		assertThat(journal()).exists();
+		assertThat(store.hasUnfinishedRun()).isTrue();
+
+		store.open();
+		store.complete();
+		assertThat(journal()).doesNotExist();
+		assertThat(store.hasUnfinishedRun()).isFalse();
+		assertThat(store.open().isResumed()).isFalse();
+		store.complete();
+	}
+
+	private Path journal() {
+		return checkpointDir.resolve("run.journal");
+	}
+
+	private static JobDTO opportunity(String id, String company) {
+		return JobDTO.builder().source("opportunity").id(id).role("Backend Engineer " + id)
+				.company(company).skills(List.of("Java", "Kafka")).build();
+	}
+}
@@ -0,0 +1,103 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.JobDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpillingJobQueueTests {
+
+	@TempDir
+	Path spillDir;
+
+	@Test
+	void jobsComeOutInOrderAcrossMemoryAndDisk() throws Exception {
+		try (SpillingJobQueue queue = new SpillingJobQueue(spillDir, 2, 1)) {
+			for (int i = 1; i <= 4; i++) {
+				queue.add(job(i));
+			}
+			assertThat(queue.spilledCount()).isEqualTo(2);
+
+			assertThat(queue.take()).isEqualTo(job(1));
+			assertThat(queue.take()).isEqualTo(job(2));
+			// Memory has room again, but the spill file still holds older jobs
+			queue.add(job(5));
+			assertThat(queue.spilledCount()).isEqualTo(3);
+
+			assertThat(queue.take()).isEqualTo(job(3));
+			assertThat(queue.take()).isEqualTo(job(4));
+			assertThat(queue.take()).isEqualTo(job(5));
+
+			// Spill file drained: memory is used again
+			queue.add(job(6));
+			queue.add(job(7));
+			assertThat(queue.spilledCount()).isEqualTo(3);
+			queue.producerDone();
+
+			assertThat(queue.take()).isEqualTo(job(6));
+			assertThat(queue.take()).isEqualTo(job(7));
+			assertThat(queue.take()).isNull();
+			assertThat(queue.size()).isEqualTo(7);
+		}
+	}
+
+	@Test
+	void missingIdsSurviveTheSpillFile() throws Exception {
+		JobDTO opportunity = JobDTO.builder().source("opportunity").id("abc123").skills(List.of()).build();
+		JobDTO jobSearch = JobDTO.builder().source("job_search").jobId("411859").skills(List.of()).build();
+
+		try (SpillingJobQueue queue = new SpillingJobQueue(spillDir, 1, 1)) {
+			queue.add(job(1));
+			queue.add(opportunity);
+			queue.add(jobSearch);
+			queue.producerDone();
+
+			assertThat(queue.take()).isEqualTo(job(1));
+			JobDTO first = queue.take();
+			JobDTO second = queue.take();
+
+			assertThat(first).isEqualTo(opportunity);
+			assertThat(first.getJobId()).isNull();
+			assertThat(first.getRole()).isNull();
+			assertThat(second).isEqualTo(jobSearch);
+			assertThat(second.getId()).isNull();
+			assertThat(queue.take()).isNull();
+		}
+	}
+
+	@Test
+	void closeRemovesTheSpillFile() throws Exception {
+		SpillingJobQueue queue = new SpillingJobQueue(spillDir, 1, 1);
+		queue.add(job(1));
+		queue.add(job(2));
+		queue.add(job(3));
+		assertThat(listSpillDir()).hasSize(1);
+
+		queue.close();
+
+		assertThat(listSpillDir()).isEmpty();
+		assertThat(queue.take()).isNull();
+	}
+
+	private List<Path> listSpillDir() throws Exception {
+		try (Stream<Path> files = Files.list(spillDir)) {
+			return files.toList();
+		}
+	}
+
+	private static JobDTO job(int n) {
+		return JobDTO.builder()
+				.source("opportunity")
+				.id("opp-" + n)
+				.role("Engineer " + n)
+				.company("Company " + n)
+				.skills(List.of("Java", "Skill " + n))
+				.build();
+	}
+}
@@ -0,0 +1,77 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TargetingUpdate;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class TargetingSnapshotTests {
+
+	@Test
+	void queryUsesTheConfiguredLocationsAndYearsWhenNoSkillsAreConfigured() {
+		TargetingSnapshot snapshot = TargetingSnapshot.compile(1, "test", update(List.of(), List.of("Pune"), 7));
+
+		assertThat(snapshot.skills()).isEqualTo(TargetingSnapshot.DEFAULT_SKILLS);
+		assertThat(snapshot.jobSearchQuery())
+				.contains("&jobLocations=Pune&")
+				.contains("&skills=Spring+Boot&")
+				.endsWith("&years=7")
+				.doesNotContain("Bangalore");
+	}
+
+	@Test
+	void partialUpdateKeepsTheSettingsItLeavesOut() {
+		TargetingUpdate initial = update(List.of("Go"), List.of("Pune"), 7);
+		initial.setKeywords(List.of("backend"));
+		initial.setKeywordFilter(true);
+		TargetingSnapshot current = TargetingSnapshot.compile(1, "test", initial);
+
+		TargetingUpdate keywordsOnly = new TargetingUpdate();
+		keywordsOnly.setKeywords(List.of("platform"));
+		TargetingSnapshot next = current.merge(2, "test", keywordsOnly);
+
+		assertThat(next.keywords()).containsExactly("platform");
+		assertThat(next.keywordFilter()).isTrue();
+		assertThat(next.jobSearchEnabled()).isTrue();
+		assertThat(next.skills()).containsExactly("Go");
+		assertThat(next.locations()).containsExactly("Pune");
+		assertThat(next.jobSearchQuery()).isEqualTo(current.jobSearchQuery());
+	}
+
+	@Test
+	void partialJobSearchUpdateKeepsTheOtherJobSearchSettings() {
+		TargetingSnapshot current = TargetingSnapshot.compile(1, "test", update(List.of("Go"), List.of("Pune"), 7));
+
+		TargetingUpdate yearsOnly = new TargetingUpdate();
+		yearsOnly.setJobSearch(new TargetingUpdate.JobSearch());
+		yearsOnly.getJobSearch().setYearsOfExperience(4);
+		TargetingSnapshot next = current.merge(2, "test", yearsOnly);
+
+		assertThat(next.skills()).containsExactly("Go");
+		assertThat(next.locations()).containsExactly("Pune");
+		assertThat(next.jobSearchQuery()).endsWith("&years=4");
+	}
+
+	@Test
+	void turningOnTheKeywordFilterWithoutKeywordsIsRejected() {
+		TargetingSnapshot current = TargetingSnapshot.compile(1, "test", update(List.of("Go"), List.of(), 3));
+
+		TargetingUpdate filterOnly = new TargetingUpdate();
+		filterOnly.setKeywordFilter(true);
+
+		assertThatIllegalArgumentException().isThrownBy(() -> current.merge(2, "test", filterOnly));
+	}
+
+	private static TargetingUpdate update(List<String> skills, List<String> locations, int years) {
+		TargetingUpdate.JobSearch jobSearch = new TargetingUpdate.JobSearch();
+		jobSearch.setSkills(skills);
+		jobSearch.setLocations(locations);
+		jobSearch.setYearsOfExperience(years);
+		TargetingUpdate update = new TargetingUpdate();
+		update.setJobSearch(jobSearch);
+		return update;
+	}
+}